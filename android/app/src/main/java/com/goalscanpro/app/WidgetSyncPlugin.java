@@ -3,11 +3,25 @@ package com.goalscanpro.app;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
+import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
+import com.goalscanpro.app.widget.BankData;
+import com.goalscanpro.app.widget.BankHistory;
+import com.goalscanpro.app.widget.MatchData;
+import com.goalscanpro.app.widget.WidgetDataProvider;
+import com.goalscanpro.app.widget.WidgetMatchStore;
+import com.goalscanpro.app.widget.WidgetMetrics;
+import com.goalscanpro.app.widget.WidgetPushCache;
+import com.goalscanpro.app.widget.WidgetRefreshScheduler;
+import com.goalscanpro.app.widget.WidgetTrace;
+import org.json.JSONException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @CapacitorPlugin(name = "WidgetSync")
 public class WidgetSyncPlugin extends Plugin {
@@ -16,43 +30,261 @@ public class WidgetSyncPlugin extends Plugin {
     private static final String PREFS_NAME = "goalscan_prefs";
     private static final String KEY_SAVED_MATCHES = "goalscan_saved";
     private static final String KEY_BANK_SETTINGS = "goalscan_bank_settings";
+    private static final String KEY_DATA_VERSION = "goalscan_widget_version";
+    
+    @Override
+    public void load() {
+        WidgetTrace.init(getContext());
+    }
     
     @PluginMethod
     public void syncData(PluginCall call) {
-        try {
-            String savedMatches = call.getString("savedMatches");
-            String bankSettings = call.getString("bankSettings");
-            
-            Context context = getContext();
+        String savedMatches = call.getString("savedMatches");
+        String bankSettings = call.getString("bankSettings");
+        Context context = getContext().getApplicationContext();
+        
+        // Persistência e broadcast fora da thread da bridge; o JS recebe só o ticket
+        long ticket = WidgetSyncWorker.getInstance().submit("syncData", () -> {
             SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
             SharedPreferences.Editor editor = prefs.edit();
             
             if (savedMatches != null) {
-                editor.putString(KEY_SAVED_MATCHES, savedMatches);
-                Log.d(TAG, "Sincronizado partidas salvas");
+                // Parse único por sincronização; os widgets só mapeiam o arquivo binário.
+                // JSON malformado lança exceção: o ticket falha e nada é gravado
+                List<MatchData> matches = WidgetDataProvider.parseSavedMatches(savedMatches);
+                WidgetMatchStore store = WidgetMatchStore.getInstance(context);
+                store.replaceAll(matches, store.getRevision() + 1);
+                editor.remove(KEY_SAVED_MATCHES);
+                Log.d(TAG, "Sincronizado partidas salvas (" + matches.size() + ")");
             }
             
             if (bankSettings != null) {
                 editor.putString(KEY_BANK_SETTINGS, bankSettings);
+                recordBankBalance(context, bankSettings);
                 Log.d(TAG, "Sincronizado configurações de banca");
             }
             
-            editor.apply();
-            
-            // Notificar widgets para atualizar
-            android.content.Intent updateIntent = new android.content.Intent(
-                "com.goalscanpro.app.WIDGET_UPDATE"
-            );
-            context.sendBroadcast(updateIntent);
-            
+            notifyWidgets(context, editor);
+        });
+        
+        call.resolve(ticketResult(ticket));
+    }
+    
+    // Inserir/atualizar apenas as análises alteradas (JSON de SavedAnalysis[])
+    @PluginMethod
+    public void upsertMatches(PluginCall call) {
+        String matchesJson = call.getString("matches");
+        Long revision = call.getLong("revision");
+        if (matchesJson == null || revision == null) {
+            call.reject("Parâmetros obrigatórios: matches, revision");
+            return;
+        }
+        Context context = getContext().getApplicationContext();
+        
+        long ticket = WidgetSyncWorker.getInstance().submit("upsertMatches", () -> {
+            List<MatchData> matches = WidgetDataProvider.parseSavedMatches(matchesJson);
+            if (WidgetMatchStore.getInstance(context).upsert(matches, revision)) {
+                Log.d(TAG, "Upsert de " + matches.size() + " partida(s), revisão " + revision);
+                notifyWidgets(context, null);
+            }
+        });
+        
+        call.resolve(ticketResult(ticket));
+    }
+    
+    // Remover análises pelo id
+    @PluginMethod
+    public void deleteMatches(PluginCall call) {
+        JSArray idsArray = call.getArray("ids");
+        Long revision = call.getLong("revision");
+        if (idsArray == null || revision == null) {
+            call.reject("Parâmetros obrigatórios: ids, revision");
+            return;
+        }
+        
+        List<String> ids = new ArrayList<>(idsArray.length());
+        try {
+            for (int i = 0; i < idsArray.length(); i++) {
+                ids.add(idsArray.getString(i));
+            }
+        } catch (JSONException e) {
+            call.reject("Parâmetro ids inválido: " + e.getMessage());
+            return;
+        }
+        Context context = getContext().getApplicationContext();
+        
+        long ticket = WidgetSyncWorker.getInstance().submit("deleteMatches", () -> {
+            if (WidgetMatchStore.getInstance(context).delete(ids, revision)) {
+                Log.d(TAG, "Removida(s) " + ids.size() + " partida(s), revisão " + revision);
+                notifyWidgets(context, null);
+            }
+        });
+        
+        call.resolve(ticketResult(ticket));
+    }
+    
+    // Substituir todas as análises (carga inicial / reconciliação com o Supabase)
+    @PluginMethod
+    public void replaceAll(PluginCall call) {
+        String matchesJson = call.getString("matches");
+        Long revision = call.getLong("revision");
+        if (matchesJson == null || revision == null) {
+            call.reject("Parâmetros obrigatórios: matches, revision");
+            return;
+        }
+        Context context = getContext().getApplicationContext();
+        
+        long ticket = WidgetSyncWorker.getInstance().submit("replaceAll", () -> {
+            List<MatchData> matches = WidgetDataProvider.parseSavedMatches(matchesJson);
+            WidgetMatchStore store = WidgetMatchStore.getInstance(context);
+            store.replaceAll(matches, revision);
+            Log.d(TAG, "Substituídas " + matches.size() + " partida(s), revisão " + store.getRevision());
+            notifyWidgets(context, null);
+        });
+        
+        call.resolve(ticketResult(ticket));
+    }
+    
+    // Aguardar a gravação de um ticket (para quem precisa de durabilidade)
+    @PluginMethod
+    public void awaitSync(PluginCall call) {
+        Long ticket = call.getLong("ticket");
+        WidgetSyncWorker worker = WidgetSyncWorker.getInstance();
+        if (ticket == null || ticket < 1 || ticket > worker.getLastTicket()) {
+            call.reject("Ticket de sincronização inválido: " + ticket);
+            return;
+        }
+        Context context = getContext().getApplicationContext();
+        
+        worker.await(ticket, (completedTicket, error, unknown) -> {
             JSObject result = new JSObject();
-            result.put("success", true);
+            result.put("success", error == null);
+            result.put("ticket", completedTicket);
+            result.put("revision", WidgetMatchStore.getInstance(context).getRevision());
+            if (error != null) {
+                result.put("error", error);
+            }
+            if (unknown) {
+                result.put("unknown", true);
+            }
             call.resolve(result);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao sincronizar dados", e);
-            call.reject("Erro ao sincronizar dados: " + e.getMessage());
+        });
+    }
+    
+    // Ajustar o agrupamento de atualizações dos widgets
+    @PluginMethod
+    public void configureRefresh(PluginCall call) {
+        WidgetRefreshScheduler scheduler = WidgetRefreshScheduler.getInstance(getContext());
+        long windowMs = call.getLong("windowMs", scheduler.getWindowMs());
+        long maxLatencyMs = call.getLong("maxLatencyMs", scheduler.getMaxLatencyMs());
+        scheduler.configure(windowMs, maxLatencyMs);
+        call.resolve(refreshStats(scheduler));
+    }
+    
+    // Contadores do agrupamento de atualizações
+    @PluginMethod
+    public void getRefreshStats(PluginCall call) {
+        call.resolve(refreshStats(WidgetRefreshScheduler.getInstance(getContext())));
+    }
+    
+    // Latências (p50/p90/p99) e contadores do caminho sincronização → widgets
+    @PluginMethod
+    public void getWidgetMetrics(PluginCall call) {
+        if (call.getBoolean("log", false)) {
+            WidgetMetrics.dump();
+        }
+        JSObject result = widgetMetrics();
+        if (call.getBoolean("reset", false)) {
+            WidgetMetrics.reset();
+        }
+        call.resolve(result);
+    }
+    
+    // Ligar/desligar as seções de trace (Perfetto/systrace) do caminho até os widgets
+    @PluginMethod
+    public void setWidgetTracing(PluginCall call) {
+        Boolean enabled = call.getBoolean("enabled");
+        if (enabled == null) {
+            call.reject("Parâmetro obrigatório: enabled");
+            return;
+        }
+        WidgetTrace.setEnabled(getContext().getApplicationContext(), enabled);
+        JSObject result = new JSObject();
+        result.put("enabled", WidgetTrace.isEnabled());
+        call.resolve(result);
+    }
+    
+    // Incrementa a versão dos dados e avisa os widgets (roda na thread do WidgetSyncWorker)
+    private static void notifyWidgets(Context context, SharedPreferences.Editor pending) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        SharedPreferences.Editor editor = pending != null ? pending : prefs.edit();
+        
+        // Versão dos dados: permite aos widgets saber qual fotografia estão exibindo
+        long version = prefs.getLong(KEY_DATA_VERSION, 0) + 1;
+        editor.putLong(KEY_DATA_VERSION, version);
+        // Já estamos fora da thread principal: commit síncrono garante durabilidade ao awaitSync
+        editor.commit();
+        // Seção assíncrona até os widgets exibirem esta versão
+        WidgetTrace.beginRefresh(version);
+        
+        // Notificar widgets para atualizar (rajadas viram um único broadcast)
+        WidgetRefreshScheduler.getInstance(context).requestRefresh();
+    }
+    
+    // Acrescenta o saldo ao histórico da banca (ignorado se não mudou)
+    private static void recordBankBalance(Context context, String bankSettings) {
+        BankData bank = WidgetDataProvider.parseBankSettings(bankSettings);
+        if (bank == null) {
+            return;
         }
+        try {
+            BankHistory.append(WidgetDataProvider.getBankHistoryFile(context),
+                System.currentTimeMillis(), bank.totalBank);
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao gravar histórico da banca", e);
+        }
+    }
+    
+    private static JSObject refreshStats(WidgetRefreshScheduler scheduler) {
+        JSObject result = new JSObject();
+        result.put("windowMs", scheduler.getWindowMs());
+        result.put("maxLatencyMs", scheduler.getMaxLatencyMs());
+        result.put("requested", scheduler.getRequestedCount());
+        result.put("merged", scheduler.getMergedCount());
+        result.put("dispatched", scheduler.getDispatchedCount());
+        result.put("pushesSent", WidgetPushCache.getMissCount());
+        result.put("pushesSkipped", WidgetPushCache.getHitCount());
+        return result;
+    }
+    
+    private static JSObject widgetMetrics() {
+        JSObject timers = new JSObject();
+        for (WidgetMetrics.Timer timer : WidgetMetrics.Timer.values()) {
+            WidgetMetrics.Summary summary = WidgetMetrics.summary(timer);
+            JSObject entry = new JSObject();
+            entry.put("count", summary.count);
+            entry.put("meanMs", summary.meanMs);
+            entry.put("p50Ms", summary.p50Ms);
+            entry.put("p90Ms", summary.p90Ms);
+            entry.put("p99Ms", summary.p99Ms);
+            entry.put("maxMs", summary.maxMs);
+            timers.put(WidgetMetrics.label(timer), entry);
+        }
+        JSObject counters = new JSObject();
+        for (WidgetMetrics.Counter counter : WidgetMetrics.Counter.values()) {
+            counters.put(WidgetMetrics.label(counter), counter.get());
+        }
+        JSObject result = new JSObject();
+        result.put("since", WidgetMetrics.getSince());
+        result.put("timers", timers);
+        result.put("counters", counters);
+        return result;
+    }
+    
+    private static JSObject ticketResult(long ticket) {
+        JSObject result = new JSObject();
+        result.put("success", true);
+        result.put("ticket", ticket);
+        return result;
     }
 }
-
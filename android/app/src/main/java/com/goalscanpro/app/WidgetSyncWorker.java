@@ -0,0 +1,102 @@
+package com.goalscanpro.app;
+
+import android.util.Log;
+import com.goalscanpro.app.widget.WidgetMetrics;
+import com.goalscanpro.app.widget.WidgetTrace;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Único escritor dos dados dos widgets: o plugin recebe um ticket e o trabalho roda aqui em ordem FIFO
+final class WidgetSyncWorker {
+
+    private static final String TAG = "WidgetSyncWorker";
+    // Falhas recentes guardadas para consulta via awaitSync
+    private static final int MAX_TRACKED_FAILURES = 32;
+
+    interface Task {
+        void run() throws Exception;
+    }
+
+    interface Completion {
+        // unknown: o ticket já saiu do histórico de falhas (o erro também vem preenchido)
+        void onComplete(long ticket, String error, boolean unknown);
+    }
+
+    private static WidgetSyncWorker instance;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WidgetSyncWriter");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final Map<Long, String> failures = new LinkedHashMap<Long, String>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            if (size() <= MAX_TRACKED_FAILURES) {
+                return false;
+            }
+            // Tickets são processados em ordem: o descartado é sempre o maior até aqui
+            evictedThrough = eldest.getKey();
+            return true;
+        }
+    };
+    // Maior ticket com falha descartado do histórico (guardado em failures)
+    private long evictedThrough;
+    private long lastTicket;
+
+    private WidgetSyncWorker() {
+    }
+
+    static synchronized WidgetSyncWorker getInstance() {
+        if (instance == null) {
+            instance = new WidgetSyncWorker();
+        }
+        return instance;
+    }
+
+    // Enfileirar uma gravação e retornar o ticket
+    synchronized long submit(String label, Task task) {
+        long ticket = ++lastTicket;
+        executor.execute(() -> {
+            long start = WidgetMetrics.start();
+            boolean traced = WidgetTrace.begin(label, ticket);
+            try {
+                task.run();
+            } catch (Exception e) {
+                WidgetMetrics.Counter.SYNC_ERRORS.increment();
+                Log.e(TAG, "Erro ao processar " + label + " (ticket " + ticket + ")", e);
+                synchronized (failures) {
+                    failures.put(ticket, e.getMessage() != null ? e.getMessage() : e.toString());
+                }
+            } finally {
+                WidgetTrace.end(traced);
+                // Parse, gravação e broadcast de uma sincronização
+                WidgetMetrics.Timer.SYNC.record(start);
+            }
+        });
+        return ticket;
+    }
+
+    synchronized long getLastTicket() {
+        return lastTicket;
+    }
+
+    // Avisar quando o ticket (e os anteriores) terminar; erro null = sucesso, unknown se já saiu do histórico
+    void await(long ticket, Completion completion) {
+        // FIFO: quando esta tarefa rodar, todas as gravações anteriores já terminaram
+        executor.execute(() -> {
+            String error;
+            boolean unknown = false;
+            synchronized (failures) {
+                error = failures.get(ticket);
+                if (error == null && ticket <= evictedThrough) {
+                    unknown = true;
+                    error = "Resultado do ticket " + ticket + " não está mais disponível";
+                }
+            }
+            completion.onComplete(ticket, error, unknown);
+        });
+    }
+}
@@ -4,20 +4,30 @@ import android.appwidget.AppWidgetManager;
 import android.appwidget.AppWidgetProvider;
 import android.content.Context;
 import android.content.Intent;
-import android.widget.RemoteViews;
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
 import com.goalscanpro.app.R;
-import java.text.NumberFormat;
-import java.util.Locale;
+import java.io.File;
+import java.io.IOException;
 
 public class BankBalanceWidget extends AppWidgetProvider {
     
     private static final String TAG = "BankBalanceWidget";
     
+    // Sparkline: janela de 30 dias, altura limitada e espaço do padding/textos do layout medium
+    private static final long SPARKLINE_WINDOW_MS = 30L * 24 * 60 * 60 * 1000;
+    private static final int SPARKLINE_HORIZONTAL_PADDING_DP = 32;
+    private static final int SPARKLINE_RESERVED_HEIGHT_DP = 100;
+    private static final int SPARKLINE_MIN_HEIGHT_DP = 16;
+    private static final int SPARKLINE_MAX_HEIGHT_DP = 48;
+    
     @Override
     public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
-        for (int appWidgetId : appWidgetIds) {
-            updateAppWidget(context, appWidgetManager, appWidgetId);
-        }
+        // Carga e renderização fora da thread principal (goAsync + pool limitado)
+        WidgetRenderExecutor.render(this, context,
+            new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_BANK, BankBalanceWidget::updateAppWidget, appWidgetIds));
     }
     
     @Override
@@ -30,21 +40,29 @@ public class BankBalanceWidget extends AppWidgetProvider {
         // Widget desabilitado
     }
     
-    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId) {
-        WidgetDataProvider.BankData bank = WidgetDataProvider.getBankSettings(context);
+    @Override
+    public void onDeleted(Context context, int[] appWidgetIds) {
+        WidgetPushCache.forget(appWidgetIds);
+    }
+    
+    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId,
+                                WidgetSnapshot snapshot) {
+        BankData bank = snapshot.getBank();
         
-        RemoteViews views;
+        FingerprintedViews views;
         
         // Determinar qual layout usar baseado no tamanho do widget
-        int minWidth = appWidgetManager.getAppWidgetOptions(appWidgetId).getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_WIDTH);
-        int minHeight = appWidgetManager.getAppWidgetOptions(appWidgetId).getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_HEIGHT);
+        Bundle options = appWidgetManager.getAppWidgetOptions(appWidgetId);
+        int minWidth = options.getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_WIDTH);
+        int minHeight = options.getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_HEIGHT);
         
         // Se altura mínima > 60dp, usar layout medium
         if (minHeight > 60) {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_bank_balance_medium);
-            updateMediumLayout(context, views, bank);
+            views = new FingerprintedViews(context, R.layout.widget_bank_balance_medium);
+            updateMediumLayout(context, views, bank, snapshot.getDailyBankChange());
+            updateSparkline(context, views, minWidth, minHeight, snapshot);
         } else {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_bank_balance_small);
+            views = new FingerprintedViews(context, R.layout.widget_bank_balance_small);
             updateSmallLayout(context, views, bank);
         }
         
@@ -56,36 +74,72 @@ public class BankBalanceWidget extends AppWidgetProvider {
             context, 0, intent, 
             android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_IMMUTABLE
         );
-        views.setOnClickPendingIntent(R.id.widget_bank_container, pendingIntent);
+        views.views.setOnClickPendingIntent(R.id.widget_bank_container, pendingIntent);
         
-        appWidgetManager.updateAppWidget(appWidgetId, views);
+        // Só envia ao launcher se o conteúdo mudou
+        WidgetPushCache.pushIfChanged(appWidgetManager, appWidgetId, views);
     }
     
-    private static void updateSmallLayout(Context context, RemoteViews views, WidgetDataProvider.BankData bank) {
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
-        
+    private static void updateSmallLayout(Context context, FingerprintedViews views, BankData bank) {
         if (bank != null) {
-            views.setTextViewText(R.id.widget_bank_amount, currencyFormat.format(bank.totalBank));
+            views.setTextViewText(R.id.widget_bank_amount, WidgetFormat.currency(bank.totalBank, bank.currency));
         } else {
             views.setTextViewText(R.id.widget_bank_amount, "R$ 0,00");
         }
     }
     
-    private static void updateMediumLayout(Context context, RemoteViews views, WidgetDataProvider.BankData bank) {
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
-        
+    private static void updateMediumLayout(Context context, FingerprintedViews views, BankData bank,
+                                           BankHistory.Change daily) {
         if (bank != null) {
-            views.setTextViewText(R.id.widget_bank_amount, currencyFormat.format(bank.totalBank));
+            views.setTextViewText(R.id.widget_bank_amount, WidgetFormat.currency(bank.totalBank, bank.currency));
             
-            // Calcular variação diária (simplificado - pode ser melhorado com histórico)
-            // Por enquanto, apenas mostra o saldo
-            views.setTextViewText(R.id.widget_bank_change, "+R$ 0,00");
-            views.setTextViewText(R.id.widget_bank_change_percent, "(+0%)");
+            // Variação desde a meia-noite, a partir do histórico de saldos
+            views.setTextViewText(R.id.widget_bank_change, WidgetFormat.signedCurrency(daily.amount, bank.currency));
+            views.setTextViewText(R.id.widget_bank_change_percent,
+                "(" + WidgetFormat.signedPercent(daily.percent, 1) + ")");
+            views.setInt(R.id.widget_bank_change, "setTextColor", daily.amount >= 0 ? 0xFF4CAF50 : 0xFFF44336);
         } else {
             views.setTextViewText(R.id.widget_bank_amount, "R$ 0,00");
             views.setTextViewText(R.id.widget_bank_change, "+R$ 0,00");
             views.setTextViewText(R.id.widget_bank_change_percent, "(+0%)");
         }
     }
+    
+    // Linha de evolução do saldo nos últimos 30 dias, no tamanho real do widget
+    private static void updateSparkline(Context context, FingerprintedViews views, int minWidthDp, int minHeightDp,
+                                        WidgetSnapshot snapshot) {
+        BankData bank = snapshot.getBank();
+        int widthDp = minWidthDp - SPARKLINE_HORIZONTAL_PADDING_DP;
+        int heightDp = Math.min(SPARKLINE_MAX_HEIGHT_DP, minHeightDp - SPARKLINE_RESERVED_HEIGHT_DP);
+        if (bank == null || widthDp <= 0 || heightDp < SPARKLINE_MIN_HEIGHT_DP) {
+            views.setViewVisibility(R.id.widget_bank_sparkline, View.GONE);
+            return;
+        }
+        
+        float density = context.getResources().getDisplayMetrics().density;
+        int widthPx = Math.round(widthDp * density);
+        int heightPx = Math.round(heightDp * density);
+        long now = snapshot.builtAt;
+        File historyFile = WidgetDataProvider.getBankHistoryFile(context);
+        String key;
+        Bitmap bitmap;
+        try {
+            // Estado do histórico + saldo atual (último ponto) + dia: a janela de 30 dias anda
+            // uma vez por dia; sincronizar partidas não redesenha a linha
+            key = SparklineRenderer.cacheKey(widthPx, heightPx, BankHistory.stateKey(historyFile)
+                + ":" + bank.totalBank + ":" + BankHistory.startOfDay(now));
+            bitmap = SparklineRenderer.getCached(key);
+            if (bitmap == null) {
+                BankHistory.Series series = BankHistory.readSeries(
+                    historyFile, now - SPARKLINE_WINDOW_MS, bank.totalBank, now);
+                bitmap = SparklineRenderer.render(key, widthPx, heightPx, density, series);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao ler histórico da banca", e);
+            views.setViewVisibility(R.id.widget_bank_sparkline, View.GONE);
+            return;
+        }
+        views.setViewVisibility(R.id.widget_bank_sparkline, View.VISIBLE);
+        views.setImageViewBitmap(R.id.widget_bank_sparkline, bitmap, key);
+    }
 }
-
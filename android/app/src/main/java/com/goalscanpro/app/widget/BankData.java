@@ -0,0 +1,8 @@
+package com.goalscanpro.app.widget;
+
+// Configurações de banca (goalscan_bank_settings)
+public class BankData {
+    public double totalBank;
+    public String currency;
+    public long updatedAt;
+}
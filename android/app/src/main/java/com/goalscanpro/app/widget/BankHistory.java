@@ -0,0 +1,245 @@
+package com.goalscanpro.app.widget;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Calendar;
+
+// Saldo da banca num buffer circular em disco; tempos não-decrescentes, busca binária
+public final class BankHistory {
+
+    public static final String FILE_NAME = "bank_history.bin";
+
+    private static final int MAGIC = 0x48425347; // "GSBH"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    // 4096 mudanças de saldo (~64 KB): anos de uso típico
+    static final int CAPACITY = 4096;
+
+    // Janelas móveis para readChange (os widgets hoje exibem só a variação diária)
+    static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    static final long WEEK_MS = 7 * DAY_MS;
+    static final long MONTH_MS = 30 * DAY_MS;
+
+    // Variação do saldo num período
+    public static final class Change {
+        public final double amount;
+        public final double percent;
+
+        Change(double amount, double percent) {
+            this.amount = amount;
+            this.percent = percent;
+        }
+    }
+
+    // Pontos do histórico num intervalo, em ordem cronológica
+    static final class Series {
+        final long[] times;
+        final double[] balances;
+
+        Series(long[] times, double[] balances) {
+            this.times = times;
+            this.balances = balances;
+        }
+
+        int size() {
+            return times.length;
+        }
+    }
+
+    static final Change NO_CHANGE = new Change(0, 0);
+
+    private BankHistory() {
+    }
+
+    // Gravar o saldo se mudou (true se gravou); relógio para trás vira o tempo do último registro
+    public static synchronized boolean append(File file, long at, double balance) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_SIZE) {
+                initialize(channel);
+            }
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION
+                || header.getInt(8) != CAPACITY) {
+                throw new IOException("Histórico da banca inválido");
+            }
+            int count = header.getInt(12);
+            int head = header.getInt(16);
+
+            if (count > 0) {
+                int last = (head + count - 1) % CAPACITY;
+                ByteBuffer record = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(record, balanceOffset(last));
+                if (record.getDouble(0) == balance) {
+                    return false;
+                }
+                record.clear();
+                channel.read(record, timeOffset(last));
+                at = Math.max(at, record.getLong(0));
+            }
+
+            int slot = count < CAPACITY ? (head + count) % CAPACITY : head;
+            ByteBuffer value = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            value.putLong(0, at);
+            channel.write(value, timeOffset(slot));
+            value.clear();
+            value.putDouble(0, balance);
+            channel.write(value, balanceOffset(slot));
+
+            // O cabeçalho é gravado por último: é ele que "publica" o novo registro
+            if (count < CAPACITY) {
+                count++;
+            } else {
+                head = (head + 1) % CAPACITY;
+            }
+            header.clear();
+            header.putInt(12, count);
+            header.putInt(16, head);
+            header.limit(20).position(12);
+            channel.write(header, 12);
+            channel.force(false);
+            return true;
+        }
+    }
+
+    // Variação desde a meia-noite local
+    public static Change readDailyChange(File file, double current, long now) throws IOException {
+        return readChangeSince(file, current, startOfDay(now));
+    }
+
+    // Variação nos últimos windowMillis (WEEK_MS, MONTH_MS)
+    static Change readChange(File file, double current, long now, long windowMillis) throws IOException {
+        return readChangeSince(file, current, now - windowMillis);
+    }
+
+    private static synchronized Change readChangeSince(File file, double current, long since) throws IOException {
+        ByteBuffer buffer = map(file);
+        if (buffer == null) {
+            return NO_CHANGE;
+        }
+        int count = buffer.getInt(12);
+        int head = buffer.getInt(16);
+        if (count == 0) {
+            return NO_CHANGE;
+        }
+        return change(buffer, count, head, since, current);
+    }
+
+    // Saldo vigente em since, registros seguintes e current como último ponto
+    static synchronized Series readSeries(File file, long since, double current, long now) throws IOException {
+        ByteBuffer buffer = map(file);
+        int count = buffer != null ? buffer.getInt(12) : 0;
+        int head = buffer != null ? buffer.getInt(16) : 0;
+        int first = count > 0 ? Math.max(indexAtOrBefore(buffer, count, head, since), 0) : 0;
+
+        int points = count - first + 1;
+        long[] times = new long[points];
+        double[] balances = new double[points];
+        for (int i = first; i < count; i++) {
+            int slot = (head + i) % CAPACITY;
+            // O ponto de partida é puxado para o início da janela
+            times[i - first] = Math.max(buffer.getLong(timeOffset(slot)), since);
+            balances[i - first] = buffer.getDouble(balanceOffset(slot));
+        }
+        times[points - 1] = now;
+        balances[points - 1] = current;
+        return new Series(times, balances);
+    }
+
+    // Chave de cache: muda a cada registro, inclusive com o buffer cheio
+    static synchronized String stateKey(File file) throws IOException {
+        ByteBuffer buffer = map(file);
+        int count = buffer != null ? buffer.getInt(12) : 0;
+        if (count == 0) {
+            return "0";
+        }
+        int head = buffer.getInt(16);
+        long last = buffer.getLong(timeOffset((head + count - 1) % CAPACITY));
+        return count + ":" + head + ":" + last;
+    }
+
+    // Variação entre o saldo vigente em since e current
+    private static Change change(ByteBuffer buffer, int count, int head, long since, double current) {
+        int index = indexAtOrBefore(buffer, count, head, since);
+        // Histórico começa depois de "since": a referência é o primeiro saldo conhecido
+        int slot = (head + Math.max(index, 0)) % CAPACITY;
+        double base = buffer.getDouble(balanceOffset(slot));
+        double amount = current - base;
+        double percent = base != 0 ? amount * 100.0 / base : 0;
+        return new Change(amount, percent);
+    }
+
+    // Último registro (posição lógica, 0 = mais antigo) com tempo <= at; -1 se nenhum
+    static int indexAtOrBefore(ByteBuffer buffer, int count, int head, long at) {
+        int lo = 0;
+        int hi = count - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long time = buffer.getLong(timeOffset((head + mid) % CAPACITY));
+            if (time <= at) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    static long startOfDay(long now) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            if (channel.size() < HEADER_SIZE + CAPACITY * 16L) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getInt(8) != CAPACITY) {
+                throw new IOException("Histórico da banca inválido");
+            }
+            return buffer;
+        }
+    }
+
+    // Arquivo novo com todas as posições pré-alocadas
+    private static void initialize(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + CAPACITY * 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(CAPACITY);
+        buffer.putInt(0); // quantidade
+        buffer.putInt(0); // posição do mais antigo
+        buffer.putInt(0); // reservado
+        buffer.rewind();
+        channel.write(buffer, 0);
+        channel.force(false);
+    }
+
+    private static int timeOffset(int slot) {
+        return HEADER_SIZE + slot * 8;
+    }
+
+    private static int balanceOffset(int slot) {
+        return HEADER_SIZE + CAPACITY * 8 + slot * 8;
+    }
+}
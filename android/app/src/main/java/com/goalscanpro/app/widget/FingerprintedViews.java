@@ -0,0 +1,81 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.widget.RemoteViews;
+
+// RemoteViews com fingerprint FNV-1a de tudo o que é exibido
+final class FingerprintedViews {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    final RemoteViews views;
+    private long hash = FNV_OFFSET;
+
+    FingerprintedViews(Context context, int layoutId) {
+        this.views = new RemoteViews(context.getPackageName(), layoutId);
+        mix(layoutId);
+    }
+
+    void setTextViewText(int viewId, CharSequence text) {
+        views.setTextViewText(viewId, text);
+        mix(viewId);
+        mix(text);
+    }
+
+    void setInt(int viewId, String methodName, int value) {
+        views.setInt(viewId, methodName, value);
+        mix(viewId);
+        mix(methodName);
+        mix(value);
+    }
+
+    // Bitmaps entram no fingerprint pela chave do conteúdo, não pelos pixels
+    void setImageViewBitmap(int viewId, Bitmap bitmap, String contentKey) {
+        views.setImageViewBitmap(viewId, bitmap);
+        mix(viewId);
+        mix(contentKey);
+    }
+
+    void setViewVisibility(int viewId, int visibility) {
+        views.setViewVisibility(viewId, visibility);
+        mix(viewId);
+        mix(visibility);
+    }
+
+    long fingerprint() {
+        return hash;
+    }
+
+    // Id estável (FNV-1a de 64 bits) para linhas de listas, derivado do id da análise
+    static long stableId(String id) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void mix(int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+    }
+
+    private void mix(CharSequence text) {
+        if (text == null) {
+            mix(-1);
+            return;
+        }
+        int length = text.length();
+        mix(length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.goalscanpro.app.widget;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Posições das partidas em ordem de início; próximas partidas por busca binária em kickoffAt
+final class KickoffIndex {
+
+    private final LongBuffer kickoffAt;
+    private final IntBuffer rows;
+
+    KickoffIndex(LongBuffer kickoffAt, IntBuffer rows) {
+        this.kickoffAt = kickoffAt;
+        this.rows = rows;
+    }
+
+    // Monta o índice a partir do kickoffAt já calculado de cada partida
+    static KickoffIndex build(List<MatchData> matches) {
+        int count = matches.size();
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = matches.get(i).kickoffAt;
+        }
+        return build(keys);
+    }
+
+    // Mesmo índice direto da coluna kickoffAt
+    static KickoffIndex build(MatchTable matches) {
+        long[] keys = new long[matches.size];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = matches.kickoffAt.get(row);
+        }
+        return new KickoffIndex(matches.kickoffAt, IntBuffer.wrap(sortedRows(keys)));
+    }
+
+    private static KickoffIndex build(long[] keys) {
+        return new KickoffIndex(LongBuffer.wrap(keys), IntBuffer.wrap(sortedRows(keys)));
+    }
+
+    // Posições em ordem crescente de chave, estável para horários iguais
+    static int[] sortedRows(long[] keys) {
+        int count = keys.length;
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = i;
+        }
+        // Merge sort de baixo para cima sobre índices, sem boxing
+        int[] scratch = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int lo = 0; lo < count - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, count);
+                if (keys[rows[mid - 1]] <= keys[rows[mid]]) {
+                    continue; // trecho já ordenado
+                }
+                int left = lo;
+                int right = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (right >= hi || (left < mid && keys[rows[left]] <= keys[rows[right]])) {
+                        scratch[k] = rows[left++];
+                    } else {
+                        scratch[k] = rows[right++];
+                    }
+                }
+                System.arraycopy(scratch, lo, rows, lo, hi - lo);
+            }
+        }
+        return rows;
+    }
+
+    int size() {
+        return rows.limit();
+    }
+
+    // Início da partida na posição position da ordem
+    private long kickoffAt(int position) {
+        return kickoffAt.get(rows.get(position));
+    }
+
+    // Primeira posição com início estritamente depois de now
+    int firstAfter(long now) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (kickoffAt(mid) <= now) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Quantidade de partidas que ainda não começaram
+    int countAfter(long now) {
+        return size() - firstAfter(now);
+    }
+
+    // Início da próxima partida, ou KickoffTime.UNKNOWN se não houver
+    long nextKickoff(long now) {
+        int first = firstAfter(now);
+        return first < size() ? kickoffAt(first) : KickoffTime.UNKNOWN;
+    }
+
+    // Até limit partidas futuras, da mais próxima para a mais distante
+    List<MatchData> next(MatchTable matches, long now, int limit) {
+        int first = firstAfter(now);
+        int end = (int) Math.min((long) first + limit, size());
+        if (first >= end) {
+            return Collections.emptyList();
+        }
+        List<MatchData> result = new ArrayList<>(end - first);
+        for (int i = first; i < end; i++) {
+            result.add(matches.get(rows.get(i)));
+        }
+        return result;
+    }
+
+    // Posição da partida na lista da fotografia, para gravar a ordem junto com as colunas
+    int rowAt(int position) {
+        return rows.get(position);
+    }
+}
@@ -0,0 +1,115 @@
+package com.goalscanpro.app.widget;
+
+import java.util.TimeZone;
+
+// matchDate/matchTime (horário local) para epoch millis, uma vez por partida na ingestão
+final class KickoffTime {
+
+    // Data/hora ausente ou inválida
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final long MINUTE_MS = 60 * 1000L;
+    private static final long DAY_MS = 24 * 60 * MINUTE_MS;
+
+    // Regras do fuso local; atualizado em TIMEZONE_CHANGED
+    private static volatile TimeZone zone = TimeZone.getDefault();
+
+    private KickoffTime() {
+    }
+
+    static TimeZone zone() {
+        return zone;
+    }
+
+    static void resetZone() {
+        zone = TimeZone.getDefault();
+    }
+
+    static long parse(String date, String time) {
+        return parse(date, time, zone);
+    }
+
+    // "YYYY-MM-DD" e "HH:mm[:ss]"; campos fora do intervalo são rejeitados
+    static long parse(String date, String time, TimeZone zone) {
+        if (date == null || time == null) {
+            return UNKNOWN;
+        }
+        int dateEnd = date.length();
+        int monthStart = date.indexOf('-') + 1;
+        int dayStart = monthStart > 0 ? date.indexOf('-', monthStart) + 1 : 0;
+        int minuteStart = time.indexOf(':') + 1;
+        if (dayStart <= 0 || minuteStart <= 0) {
+            return UNKNOWN;
+        }
+        int minuteEnd = time.indexOf(':', minuteStart);
+        if (minuteEnd < 0) {
+            minuteEnd = time.length();
+        }
+
+        int year = digits(date, 0, monthStart - 1, 4);
+        int month = digits(date, monthStart, dayStart - 1, 2);
+        int day = digits(date, dayStart, dateEnd, 2);
+        int hour = digits(time, 0, minuteStart - 1, 2);
+        int minute = digits(time, minuteStart, minuteEnd, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return UNKNOWN;
+        }
+
+        long local = daysFromCivil(year, month, day) * DAY_MS + (hour * 60L + minute) * MINUTE_MS;
+        return toEpochMillis(local, zone);
+    }
+
+    // Hora local para instante, como o java.time nas trocas de horário de verão
+    private static long toEpochMillis(long local, TimeZone zone) {
+        int before = zone.getOffset(local - DAY_MS);
+        int after = zone.getOffset(local + DAY_MS);
+        long utc = local - before;
+        if (before != after && zone.getOffset(local - after) == after
+                && (before < after || zone.getOffset(utc) != before)) {
+            utc = local - after;
+        }
+        return utc;
+    }
+
+    // Inteiro decimal em [start, end) com até maxDigits dígitos; -1 se vazio ou inválido
+    private static int digits(String s, int start, int end, int maxDigits) {
+        if (end <= start || end - start > maxDigits) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Dias desde 1970-01-01 no calendário gregoriano proléptico (algoritmo de H. Hinnant)
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,19 @@
+package com.goalscanpro.app.widget;
+
+// Partida salva (SavedAnalysis) só com os campos dos widgets; sem dependência do Android
+public class MatchData {
+    public String id;
+    public String homeTeam;
+    public String awayTeam;
+    public String matchDate;
+    public String matchTime;
+    public double probability;
+    public double ev;
+    public double odd;
+    public String betStatus; // pending, won, lost, cancelled
+    public double betAmount;
+    public double potentialReturn;
+    public long timestamp;
+    public Long resultAt;
+    public long kickoffAt; // início em epoch millis (KickoffTime.UNKNOWN se inválido)
+}
@@ -0,0 +1,222 @@
+package com.goalscanpro.app.widget;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Partidas em colunas de primitivos; lidas do arquivo, as colunas são views do mapeamento
+public final class MatchTable {
+
+    // Códigos de betStatus (mesmos valores gravados na coluna de status da fotografia)
+    static final byte STATUS_NONE = 0;
+    static final byte STATUS_PENDING = 1;
+    static final byte STATUS_WON = 2;
+    static final byte STATUS_LOST = 3;
+    static final byte STATUS_CANCELLED = 4;
+    static final byte STATUS_OTHER = 5;
+
+    // resultAt ausente
+    static final long NO_RESULT_AT = Long.MIN_VALUE;
+
+    static final MatchTable EMPTY = of(new ArrayList<>());
+
+    // Linhas montadas mantidas em cache (mapeamento direto pela posição)
+    private static final int CACHE_SIZE = 32;
+
+    // Origem do texto das colunas id/data/hora, decodificado sob demanda
+    interface Strings {
+        String get(int ref);
+    }
+
+    final int size;
+    // Colunas lidas só por posição absoluta (get(row)), seguras entre threads
+    final DoubleBuffer odd;
+    final DoubleBuffer probability;
+    final DoubleBuffer ev;
+    final DoubleBuffer betAmount;
+    final DoubleBuffer potentialReturn;
+    final LongBuffer timestamp;
+    final LongBuffer resultAt;
+    final LongBuffer kickoffAt;
+    final ByteBuffer status;
+    // Ids no dicionário de times (teams[id] é a instância canônica do nome)
+    final IntBuffer homeTeam;
+    final IntBuffer awayTeam;
+    final String[] teams;
+    // Referências em strings
+    private final IntBuffer idRefs;
+    private final IntBuffer dateRefs;
+    private final IntBuffer timeRefs;
+    private final Strings strings;
+    private final AtomicReferenceArray<Row> cache = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    MatchTable(int size, DoubleBuffer odd, DoubleBuffer probability, DoubleBuffer ev,
+               DoubleBuffer betAmount, DoubleBuffer potentialReturn, LongBuffer timestamp,
+               LongBuffer resultAt, LongBuffer kickoffAt, ByteBuffer status, IntBuffer homeTeam,
+               IntBuffer awayTeam, String[] teams, IntBuffer idRefs, IntBuffer dateRefs,
+               IntBuffer timeRefs, Strings strings) {
+        this.size = size;
+        this.odd = odd;
+        this.probability = probability;
+        this.ev = ev;
+        this.betAmount = betAmount;
+        this.potentialReturn = potentialReturn;
+        this.timestamp = timestamp;
+        this.resultAt = resultAt;
+        this.kickoffAt = kickoffAt;
+        this.status = status;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.teams = teams;
+        this.idRefs = idRefs;
+        this.dateRefs = dateRefs;
+        this.timeRefs = timeRefs;
+        this.strings = strings;
+    }
+
+    // Converte partidas já parseadas (migração do formato antigo e estado do WidgetMatchStore)
+    static MatchTable of(List<MatchData> matches) {
+        int count = matches.size();
+        double[] odd = new double[count];
+        double[] probability = new double[count];
+        double[] ev = new double[count];
+        double[] betAmount = new double[count];
+        double[] potentialReturn = new double[count];
+        long[] timestamp = new long[count];
+        long[] resultAt = new long[count];
+        long[] kickoffAt = new long[count];
+        byte[] status = new byte[count];
+        int[] homeTeam = new int[count];
+        int[] awayTeam = new int[count];
+        // Texto já em memória: ids em [0, n), datas em [n, 2n), horas em [2n, 3n)
+        String[] values = new String[count * 3];
+        int[] idRefs = new int[count];
+        int[] dateRefs = new int[count];
+        int[] timeRefs = new int[count];
+        TeamNames teams = new TeamNames();
+        for (int i = 0; i < count; i++) {
+            MatchData match = matches.get(i);
+            odd[i] = match.odd;
+            probability[i] = match.probability;
+            ev[i] = match.ev;
+            betAmount[i] = match.betAmount;
+            potentialReturn[i] = match.potentialReturn;
+            timestamp[i] = match.timestamp;
+            resultAt[i] = match.resultAt != null ? match.resultAt : NO_RESULT_AT;
+            kickoffAt[i] = match.kickoffAt;
+            status[i] = encodeStatus(match.betStatus);
+            homeTeam[i] = teams.intern(match.homeTeam);
+            awayTeam[i] = teams.intern(match.awayTeam);
+            values[i] = match.id;
+            values[count + i] = match.matchDate;
+            values[2 * count + i] = match.matchTime;
+            idRefs[i] = i;
+            dateRefs[i] = count + i;
+            timeRefs[i] = 2 * count + i;
+        }
+        return new MatchTable(count, DoubleBuffer.wrap(odd), DoubleBuffer.wrap(probability),
+            DoubleBuffer.wrap(ev), DoubleBuffer.wrap(betAmount), DoubleBuffer.wrap(potentialReturn),
+            LongBuffer.wrap(timestamp), LongBuffer.wrap(resultAt), LongBuffer.wrap(kickoffAt),
+            ByteBuffer.wrap(status), IntBuffer.wrap(homeTeam), IntBuffer.wrap(awayTeam),
+            teams.toArray(), IntBuffer.wrap(idRefs), IntBuffer.wrap(dateRefs),
+            IntBuffer.wrap(timeRefs), ref -> values[ref]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Partida da linha, montada sob demanda e mantida num cache pequeno (somente leitura)
+    public MatchData get(int row) {
+        int slot = row & (CACHE_SIZE - 1);
+        Row cached = cache.get(slot);
+        if (cached != null && cached.row == row) {
+            return cached.match;
+        }
+        MatchData match = decode(row);
+        cache.set(slot, new Row(row, match));
+        return match;
+    }
+
+    // Monta sempre um objeto novo, sem passar pelo cache (cópias completas)
+    MatchData decode(int row) {
+        MatchData match = new MatchData();
+        match.id = strings.get(idRefs.get(row));
+        match.homeTeam = teams[homeTeam.get(row)];
+        match.awayTeam = teams[awayTeam.get(row)];
+        match.matchDate = strings.get(dateRefs.get(row));
+        match.matchTime = strings.get(timeRefs.get(row));
+        match.probability = probability.get(row);
+        match.ev = ev.get(row);
+        match.odd = odd.get(row);
+        match.betStatus = decodeStatus(status.get(row));
+        match.betAmount = betAmount.get(row);
+        match.potentialReturn = potentialReturn.get(row);
+        match.timestamp = timestamp.get(row);
+        long settled = resultAt.get(row);
+        match.resultAt = settled != NO_RESULT_AT ? settled : null;
+        match.kickoffAt = kickoffAt.get(row);
+        return match;
+    }
+
+    // Todas as partidas como objetos novos (caminho antigo; evite em histórico grande)
+    public List<MatchData> toList() {
+        List<MatchData> matches = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            matches.add(decode(row));
+        }
+        return matches;
+    }
+
+    public String id(int row) {
+        return strings.get(idRefs.get(row));
+    }
+
+    // Aposta resolvida (won ou lost)
+    boolean isSettled(int row) {
+        byte code = status.get(row);
+        return code == STATUS_WON || code == STATUS_LOST;
+    }
+
+    // Momento da resolução; apostas antigas sem resultAt usam a data da análise
+    long settledAt(int row) {
+        long settled = resultAt.get(row);
+        return settled != NO_RESULT_AT ? settled : timestamp.get(row);
+    }
+
+    private static final class Row {
+        final int row;
+        final MatchData match;
+
+        Row(int row, MatchData match) {
+            this.row = row;
+            this.match = match;
+        }
+    }
+
+    static byte encodeStatus(String status) {
+        if (status == null) return STATUS_NONE;
+        switch (status) {
+            case "pending": return STATUS_PENDING;
+            case "won": return STATUS_WON;
+            case "lost": return STATUS_LOST;
+            case "cancelled": return STATUS_CANCELLED;
+            default: return STATUS_OTHER;
+        }
+    }
+
+    static String decodeStatus(byte code) {
+        switch (code) {
+            case STATUS_NONE: return null;
+            case STATUS_PENDING: return "pending";
+            case STATUS_WON: return "won";
+            case STATUS_LOST: return "lost";
+            case STATUS_CANCELLED: return "cancelled";
+            default: return "";
+        }
+    }
+}
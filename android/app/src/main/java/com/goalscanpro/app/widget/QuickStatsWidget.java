@@ -4,9 +4,7 @@ import android.appwidget.AppWidgetManager;
 import android.appwidget.AppWidgetProvider;
 import android.content.Context;
 import android.content.Intent;
-import android.widget.RemoteViews;
 import com.goalscanpro.app.R;
-import java.util.Locale;
 
 public class QuickStatsWidget extends AppWidgetProvider {
     
@@ -14,9 +12,9 @@ public class QuickStatsWidget extends AppWidgetProvider {
     
     @Override
     public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
-        for (int appWidgetId : appWidgetIds) {
-            updateAppWidget(context, appWidgetManager, appWidgetId);
-        }
+        // Carga e renderização fora da thread principal (goAsync + pool limitado)
+        WidgetRenderExecutor.render(this, context,
+            new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_STATS, QuickStatsWidget::updateAppWidget, appWidgetIds));
     }
     
     @Override
@@ -29,20 +27,26 @@ public class QuickStatsWidget extends AppWidgetProvider {
         // Widget desabilitado
     }
     
-    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId) {
-        WidgetDataProvider.StatsData stats = WidgetDataProvider.calculateStats(context);
+    @Override
+    public void onDeleted(Context context, int[] appWidgetIds) {
+        WidgetPushCache.forget(appWidgetIds);
+    }
+    
+    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId,
+                                WidgetSnapshot snapshot) {
+        StatsData stats = snapshot.getStats();
         
-        RemoteViews views;
+        FingerprintedViews views;
         
         // Determinar qual layout usar baseado no tamanho do widget
         int minHeight = appWidgetManager.getAppWidgetOptions(appWidgetId).getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_HEIGHT);
         
         // Se altura mínima > 100dp, usar layout medium
         if (minHeight > 100) {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_quick_stats_medium);
+            views = new FingerprintedViews(context, R.layout.widget_quick_stats_medium);
             updateMediumLayout(context, views, stats);
         } else {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_quick_stats_small);
+            views = new FingerprintedViews(context, R.layout.widget_quick_stats_small);
             updateSmallLayout(context, views, stats);
         }
         
@@ -54,12 +58,13 @@ public class QuickStatsWidget extends AppWidgetProvider {
             context, 0, intent, 
             android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_IMMUTABLE
         );
-        views.setOnClickPendingIntent(R.id.widget_stats_container, pendingIntent);
+        views.views.setOnClickPendingIntent(R.id.widget_stats_container, pendingIntent);
         
-        appWidgetManager.updateAppWidget(appWidgetId, views);
+        // Só envia ao launcher se o conteúdo mudou
+        WidgetPushCache.pushIfChanged(appWidgetManager, appWidgetId, views);
     }
     
-    private static void updateSmallLayout(Context context, RemoteViews views, WidgetDataProvider.StatsData stats) {
+    private static void updateSmallLayout(Context context, FingerprintedViews views, StatsData stats) {
         if (stats != null) {
             views.setTextViewText(R.id.widget_stats_total_value, String.valueOf(stats.totalMatches));
             views.setTextViewText(R.id.widget_stats_ev_value, String.valueOf(stats.positiveEVCount));
@@ -69,14 +74,14 @@ public class QuickStatsWidget extends AppWidgetProvider {
         }
     }
     
-    private static void updateMediumLayout(Context context, RemoteViews views, WidgetDataProvider.StatsData stats) {
+    private static void updateMediumLayout(Context context, FingerprintedViews views, StatsData stats) {
         if (stats != null) {
             views.setTextViewText(R.id.widget_stats_total_value, String.valueOf(stats.totalMatches));
             views.setTextViewText(R.id.widget_stats_winrate_value, 
-                String.format(Locale.getDefault(), "%.0f%%", stats.winRate));
+                WidgetFormat.percent(stats.winRate, 0));
             views.setTextViewText(R.id.widget_stats_ev_value, String.valueOf(stats.positiveEVCount));
             views.setTextViewText(R.id.widget_stats_roi_value, 
-                String.format(Locale.getDefault(), "%.1f%%", stats.roi));
+                WidgetFormat.percent(stats.roi, 1));
         } else {
             views.setTextViewText(R.id.widget_stats_total_value, "0");
             views.setTextViewText(R.id.widget_stats_winrate_value, "0%");
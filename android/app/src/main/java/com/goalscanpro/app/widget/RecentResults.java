@@ -0,0 +1,73 @@
+package com.goalscanpro.app.widget;
+
+import java.util.List;
+
+// Ordem das apostas resolvidas (won/lost), da mais recente para a mais antiga. Calculada na
+// gravação da fotografia; os widgets só leem as primeiras posições da ordem gravada.
+final class RecentResults {
+
+    private RecentResults() {
+    }
+
+    static boolean isSettled(MatchData match) {
+        return "won".equals(match.betStatus) || "lost".equals(match.betStatus);
+    }
+
+    // Momento da resolução; apostas antigas sem resultAt usam a data da análise
+    static long settledAt(MatchData match) {
+        return match.resultAt != null ? match.resultAt : match.timestamp;
+    }
+
+    // Posições das apostas resolvidas; empates de data mantêm a ordem em que foram salvas
+    static int[] order(List<MatchData> matches) {
+        int settledCount = 0;
+        for (MatchData match : matches) {
+            if (isSettled(match)) {
+                settledCount++;
+            }
+        }
+        int[] positions = new int[settledCount];
+        long[] keys = new long[settledCount];
+        int next = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            MatchData match = matches.get(i);
+            if (isSettled(match)) {
+                positions[next] = i;
+                keys[next] = -settledAt(match);
+                next++;
+            }
+        }
+        return sort(positions, keys);
+    }
+
+    // Mesma ordem sobre as colunas (fotografia em memória, antes da primeira gravação)
+    static int[] order(MatchTable matches) {
+        int settledCount = 0;
+        for (int row = 0; row < matches.size; row++) {
+            if (matches.isSettled(row)) {
+                settledCount++;
+            }
+        }
+        int[] positions = new int[settledCount];
+        long[] keys = new long[settledCount];
+        int next = 0;
+        for (int row = 0; row < matches.size; row++) {
+            if (matches.isSettled(row)) {
+                positions[next] = row;
+                keys[next] = -matches.settledAt(row);
+                next++;
+            }
+        }
+        return sort(positions, keys);
+    }
+
+    // Chave negada: ordenação crescente estável vira "mais recente primeiro"
+    private static int[] sort(int[] positions, long[] keys) {
+        int[] order = KickoffIndex.sortedRows(keys);
+        int[] rows = new int[positions.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = positions[order[i]];
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,140 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+import android.widget.RemoteViews;
+import android.widget.RemoteViewsService;
+import com.goalscanpro.app.R;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+// Lista de apostas resolvidas do RecentResultsWidget, lida em páginas da fotografia
+public class RecentResultsService extends RemoteViewsService {
+
+    @Override
+    public RemoteViewsFactory onGetViewFactory(Intent intent) {
+        return new Factory(getApplicationContext());
+    }
+
+    static final class Factory implements RemoteViewsFactory {
+
+        private static final String TAG = "RecentResultsService";
+        private static final int PAGE_SIZE = 20;
+
+        private final Context context;
+        private final File file;
+
+        // Fotografia aberta na última atualização, total de resolvidas e a página em memória
+        private WidgetSnapshotFile.Settled settled;
+        private int count;
+        // Moeda da banca (código ISO ou símbolo), relida a cada atualização
+        private String currency;
+        private int pageStart = -1;
+        private List<MatchData> page = Collections.emptyList();
+
+        Factory(Context context) {
+            this.context = context;
+            this.file = WidgetDataProvider.getSnapshotFile(context);
+        }
+
+        @Override
+        public void onCreate() {
+            // Dados carregados em onDataSetChanged (chamado logo em seguida pelo sistema)
+        }
+
+        @Override
+        public void onDataSetChanged() {
+            // Só a primeira página; as demais são lidas quando o usuário rolar até elas
+            pageStart = -1;
+            page = Collections.emptyList();
+            BankData bank = WidgetDataProvider.getBankSettings(context);
+            currency = bank != null ? bank.currency : null;
+            try {
+                settled = WidgetSnapshotFile.readSettled(file);
+            } catch (IOException e) {
+                Log.e(TAG, "Erro ao ler resultados da fotografia", e);
+                settled = null;
+            }
+            count = settled != null ? settled.total : 0;
+            if (count > 0) {
+                loadPage(0);
+            }
+        }
+
+        @Override
+        public void onDestroy() {
+            settled = null;
+            page = Collections.emptyList();
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public RemoteViews getViewAt(int position) {
+            RemoteViews row = new RemoteViews(context.getPackageName(), R.layout.widget_recent_result_row);
+            MatchData match = matchAt(position);
+            if (match == null) {
+                return row;
+            }
+
+            boolean won = "won".equals(match.betStatus);
+            double profit = won ? match.potentialReturn - match.betAmount : -match.betAmount;
+
+            row.setTextViewText(R.id.widget_result_row_teams, WidgetFormat.matchup(match.homeTeam, match.awayTeam));
+            row.setTextViewText(R.id.widget_result_row_details,
+                "Odd " + WidgetFormat.decimal(match.odd, 2) + " · "
+                    + WidgetFormat.currency(match.betAmount, currency));
+            row.setTextViewText(R.id.widget_result_row_profit, WidgetFormat.signedCurrency(profit, currency));
+            row.setTextColor(R.id.widget_result_row_profit, won ? 0xFF4CAF50 : 0xFFF44336);
+
+            Intent fillIn = new Intent();
+            fillIn.putExtra("matchId", match.id);
+            row.setOnClickFillInIntent(R.id.widget_result_row, fillIn);
+            return row;
+        }
+
+        @Override
+        public RemoteViews getLoadingView() {
+            return null; // usa a view de carregamento padrão
+        }
+
+        @Override
+        public int getViewTypeCount() {
+            return 1;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            MatchData match = matchAt(position);
+            return match != null ? FingerprintedViews.stableId(match.id) : position;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        private MatchData matchAt(int position) {
+            if (position < 0 || position >= count) {
+                return null;
+            }
+            int start = (position / PAGE_SIZE) * PAGE_SIZE;
+            if (start != pageStart) {
+                loadPage(start);
+            }
+            int offset = position - pageStart;
+            return offset < page.size() ? page.get(offset) : null;
+        }
+
+        private void loadPage(int start) {
+            pageStart = start;
+            page = settled.page(start, PAGE_SIZE);
+        }
+    }
+}
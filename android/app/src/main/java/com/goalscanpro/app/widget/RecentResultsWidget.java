@@ -4,11 +4,9 @@ import android.appwidget.AppWidgetManager;
 import android.appwidget.AppWidgetProvider;
 import android.content.Context;
 import android.content.Intent;
-import android.widget.RemoteViews;
+import android.net.Uri;
 import com.goalscanpro.app.R;
-import java.text.NumberFormat;
 import java.util.List;
-import java.util.Locale;
 
 public class RecentResultsWidget extends AppWidgetProvider {
     
@@ -16,9 +14,9 @@ public class RecentResultsWidget extends AppWidgetProvider {
     
     @Override
     public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
-        for (int appWidgetId : appWidgetIds) {
-            updateAppWidget(context, appWidgetManager, appWidgetId);
-        }
+        // Carga e renderização fora da thread principal (goAsync + pool limitado)
+        WidgetRenderExecutor.render(this, context,
+            new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_RESULTS, RecentResultsWidget::updateAppWidget, appWidgetIds));
     }
     
     @Override
@@ -31,21 +29,31 @@ public class RecentResultsWidget extends AppWidgetProvider {
         // Widget desabilitado
     }
     
-    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId) {
-        List<WidgetDataProvider.MatchData> recentResults = WidgetDataProvider.getRecentResults(context);
+    @Override
+    public void onDeleted(Context context, int[] appWidgetIds) {
+        WidgetPushCache.forget(appWidgetIds);
+    }
+    
+    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId,
+                                WidgetSnapshot snapshot) {
+        List<MatchData> recentResults = snapshot.getRecentResults();
+        // Contagens vêm do agregado mantido na sincronização, não da lista (limitada a K itens)
+        StatsData stats = snapshot.getStats();
         
-        RemoteViews views;
+        FingerprintedViews views;
         
         // Determinar qual layout usar baseado no tamanho do widget
         int minHeight = appWidgetManager.getAppWidgetOptions(appWidgetId).getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_HEIGHT);
         
         // Se altura mínima > 200dp, usar layout medium
-        if (minHeight > 200) {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_recent_results_medium);
-            updateMediumLayout(context, views, recentResults);
+        boolean medium = minHeight > 200;
+        if (medium) {
+            views = new FingerprintedViews(context, R.layout.widget_recent_results_medium);
+            updateMediumLayout(context, views, recentResults, stats);
+            bindResultsList(context, views, appWidgetId);
         } else {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_recent_results_small);
-            updateSmallLayout(context, views, recentResults);
+            views = new FingerprintedViews(context, R.layout.widget_recent_results_small);
+            updateSmallLayout(context, views, recentResults, stats);
         }
         
         // Intent para abrir o app ao tocar no widget
@@ -56,28 +64,26 @@ public class RecentResultsWidget extends AppWidgetProvider {
             context, 0, intent, 
             android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_IMMUTABLE
         );
-        views.setOnClickPendingIntent(R.id.widget_results_container, pendingIntent);
+        views.views.setOnClickPendingIntent(R.id.widget_results_container, pendingIntent);
         
-        appWidgetManager.updateAppWidget(appWidgetId, views);
+        // Só envia ao launcher se o conteúdo mudou
+        WidgetPushCache.pushIfChanged(appWidgetManager, appWidgetId, views);
+        
+        if (medium) {
+            // As linhas são relidas em páginas pela factory; o cabeçalho não é reenviado
+            appWidgetManager.notifyAppWidgetViewDataChanged(appWidgetId, R.id.widget_results_list);
+        }
     }
     
-    private static void updateSmallLayout(Context context, RemoteViews views, List<WidgetDataProvider.MatchData> results) {
+    private static void updateSmallLayout(Context context, FingerprintedViews views, List<MatchData> results,
+                                          StatsData stats) {
         // Por limitações do RemoteViews, vamos mostrar apenas um resumo
         // Em uma implementação mais avançada, poderia usar RemoteViewsService para listas
         if (results != null && !results.isEmpty()) {
-            int wonCount = 0;
-            int lostCount = 0;
-            
-            for (WidgetDataProvider.MatchData result : results) {
-                if ("won".equals(result.betStatus)) {
-                    wonCount++;
-                } else if ("lost".equals(result.betStatus)) {
-                    lostCount++;
-                }
-            }
+            int wonCount = stats.wonCount;
+            int lostCount = stats.lostCount;
             
-            String summary = String.format(Locale.getDefault(), 
-                "%d vitórias, %d derrotas", wonCount, lostCount);
+            String summary = wonCount + " vitórias, " + lostCount + " derrotas";
             // Como não temos um TextView específico para isso no layout small,
             // vamos usar o título
             views.setTextViewText(R.id.widget_results_title, summary);
@@ -86,28 +92,39 @@ public class RecentResultsWidget extends AppWidgetProvider {
         }
     }
     
-    private static void updateMediumLayout(Context context, RemoteViews views, List<WidgetDataProvider.MatchData> results) {
+    private static void updateMediumLayout(Context context, FingerprintedViews views, List<MatchData> results,
+                                           StatsData stats) {
         if (results != null && !results.isEmpty()) {
-            int wonCount = 0;
-            int lostCount = 0;
-            
-            for (WidgetDataProvider.MatchData result : results) {
-                if ("won".equals(result.betStatus)) {
-                    wonCount++;
-                } else if ("lost".equals(result.betStatus)) {
-                    lostCount++;
-                }
-            }
+            int wonCount = stats.wonCount;
+            int lostCount = stats.lostCount;
             
             int total = wonCount + lostCount;
             double winRate = total > 0 ? (wonCount * 100.0 / total) : 0;
             
             views.setTextViewText(R.id.widget_results_winrate, 
-                String.format(Locale.getDefault(), "Taxa: %.0f%%", winRate));
+                "Taxa: " + WidgetFormat.percent(winRate, 0));
         } else {
             views.setTextViewText(R.id.widget_results_title, "Nenhum resultado ainda");
             views.setTextViewText(R.id.widget_results_winrate, "");
         }
     }
+    
+    // Lista paginada de apostas resolvidas servida pelo RecentResultsService
+    private static void bindResultsList(Context context, FingerprintedViews views, int appWidgetId) {
+        Intent serviceIntent = new Intent(context, RecentResultsService.class);
+        serviceIntent.putExtra(AppWidgetManager.EXTRA_APPWIDGET_ID, appWidgetId);
+        serviceIntent.setData(Uri.parse(serviceIntent.toUri(Intent.URI_INTENT_SCHEME)));
+        views.views.setRemoteAdapter(R.id.widget_results_list, serviceIntent);
+        views.views.setEmptyView(R.id.widget_results_list, R.id.widget_results_empty);
+        
+        // Toque numa linha abre a aposta (a linha completa o intent com o matchId)
+        Intent rowIntent = new Intent(context, com.goalscanpro.app.MainActivity.class);
+        rowIntent.putExtra("action", "open_results");
+        rowIntent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        android.app.PendingIntent rowTemplate = android.app.PendingIntent.getActivity(
+            context, 2, rowIntent,
+            android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_MUTABLE
+        );
+        views.views.setPendingIntentTemplate(R.id.widget_results_list, rowTemplate);
+    }
 }
-
@@ -0,0 +1,503 @@
+package com.goalscanpro.app.widget;
+
+import java.util.List;
+
+// Parser em streaming de goalscan_saved: só os campos dos widgets, o resto é pulado sem alocar
+public final class SavedMatchesParser {
+
+    // Potências de 10 exatamente representáveis em double (caminho rápido de números)
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Maior mantissa com conversão exata para double (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final String json;
+    private final int length;
+    // Uma instância por time em todo o parse
+    private final TeamNames teams = new TeamNames();
+    private int pos;
+
+    private SavedMatchesParser(String json) {
+        this.json = json;
+        this.length = json.length();
+    }
+
+    // IllegalArgumentException se malformado; as partidas lidas até o erro ficam em out
+    public static void parse(String json, List<MatchData> out) {
+        new SavedMatchesParser(json).readArray(out);
+    }
+
+    private void readArray(List<MatchData> out) {
+        expect('[');
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        while (true) {
+            if (peek() == '{') {
+                MatchData match = readMatch();
+                if (match != null) {
+                    out.add(match);
+                }
+            } else {
+                skipValue();
+            }
+            if (!nextElement(']')) {
+                return;
+            }
+        }
+    }
+
+    // Lê um SavedAnalysis; retorna null quando faltam os objetos obrigatórios
+    private MatchData readMatch() {
+        MatchData match = new MatchData();
+        match.id = "";
+        match.homeTeam = "";
+        match.awayTeam = "";
+        match.matchDate = "";
+        match.matchTime = "";
+        boolean hasData = false;
+        boolean hasResult = false;
+        boolean validBetInfo = true;
+
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return null;
+        }
+        do {
+            int nameStart = readNameStart();
+            int nameEnd = pos - 1;
+            expect(':');
+            if (nameIs(nameStart, nameEnd, "id")) {
+                match.id = readString("");
+            } else if (nameIs(nameStart, nameEnd, "timestamp")) {
+                match.timestamp = readLong(0);
+            } else if (nameIs(nameStart, nameEnd, "data") && peek() == '{') {
+                readData(match);
+                hasData = true;
+            } else if (nameIs(nameStart, nameEnd, "result") && peek() == '{') {
+                readResult(match);
+                hasResult = true;
+            } else if (nameIs(nameStart, nameEnd, "betInfo")) {
+                // getJSONObject("betInfo") falhava com null/não-objeto e o registro era descartado
+                validBetInfo = peek() == '{';
+                if (validBetInfo) {
+                    readBetInfo(match);
+                } else {
+                    skipValue();
+                }
+            } else {
+                skipValue();
+            }
+        } while (nextElement('}'));
+
+        if (!hasData || !hasResult || !validBetInfo) {
+            return null;
+        }
+        // Horário de início calculado uma única vez, aqui na ingestão
+        match.kickoffAt = KickoffTime.parse(match.matchDate, match.matchTime);
+        return match;
+    }
+
+    private void readData(MatchData match) {
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        do {
+            int nameStart = readNameStart();
+            int nameEnd = pos - 1;
+            expect(':');
+            if (nameIs(nameStart, nameEnd, "homeTeam")) {
+                match.homeTeam = readTeam();
+            } else if (nameIs(nameStart, nameEnd, "awayTeam")) {
+                match.awayTeam = readTeam();
+            } else if (nameIs(nameStart, nameEnd, "matchDate")) {
+                match.matchDate = readString("");
+            } else if (nameIs(nameStart, nameEnd, "matchTime")) {
+                match.matchTime = readString("");
+            } else if (nameIs(nameStart, nameEnd, "oddOver15")) {
+                match.odd = readDouble(0);
+            } else {
+                skipValue();
+            }
+        } while (nextElement('}'));
+    }
+
+    private void readResult(MatchData match) {
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        do {
+            int nameStart = readNameStart();
+            int nameEnd = pos - 1;
+            expect(':');
+            if (nameIs(nameStart, nameEnd, "probabilityOver15")) {
+                match.probability = readDouble(0);
+            } else if (nameIs(nameStart, nameEnd, "ev")) {
+                match.ev = readDouble(0);
+            } else {
+                skipValue();
+            }
+        } while (nextElement('}'));
+    }
+
+    private void readBetInfo(MatchData match) {
+        match.betStatus = "";
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        do {
+            int nameStart = readNameStart();
+            int nameEnd = pos - 1;
+            expect(':');
+            if (nameIs(nameStart, nameEnd, "status")) {
+                match.betStatus = readString("");
+            } else if (nameIs(nameStart, nameEnd, "betAmount")) {
+                match.betAmount = readDouble(0);
+            } else if (nameIs(nameStart, nameEnd, "potentialReturn")) {
+                match.potentialReturn = readDouble(0);
+            } else if (nameIs(nameStart, nameEnd, "resultAt")) {
+                if (peek() == 'n') {
+                    skipLiteral();
+                } else {
+                    match.resultAt = readLong(0);
+                }
+            } else {
+                skipValue();
+            }
+        } while (nextElement('}'));
+    }
+
+    // ---- Primitivas de leitura ----
+
+    // Consome a chave de um objeto e retorna o início do nome (pos fica após as aspas finais)
+    private int readNameStart() {
+        expect('"');
+        int start = pos;
+        while (pos < length) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return start;
+            }
+            if (c == '\\') {
+                pos++;
+            }
+        }
+        throw error("Chave não terminada");
+    }
+
+    private boolean nameIs(int start, int end, String name) {
+        return end - start == name.length() && json.regionMatches(start, name, 0, name.length());
+    }
+
+    // Após um elemento: true se houver vírgula, false se o container fechou
+    private boolean nextElement(char close) {
+        char c = peek();
+        pos++;
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw error("Esperado ',' ou '" + close + "'");
+    }
+
+    private String readString(String fallback) {
+        char c = peek();
+        if (c != '"') {
+            if (c == 'n') {
+                skipLiteral();
+                return fallback;
+            }
+            // Valor não-string (ex.: número): mantém o texto bruto, como optString
+            int start = pos;
+            skipValue();
+            return json.substring(start, pos).trim();
+        }
+        pos++;
+        int start = pos;
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (ch == '"') {
+                String value = json.substring(start, pos);
+                pos++;
+                return value;
+            }
+            if (ch == '\\') {
+                return readEscapedString(start);
+            }
+            pos++;
+        }
+        throw error("String não terminada");
+    }
+
+    // Nome de time pelo dicionário: repetições não alocam uma nova String
+    private String readTeam() {
+        if (peek() == '"') {
+            int start = pos + 1;
+            for (int end = start; end < length; end++) {
+                char ch = json.charAt(end);
+                if (ch == '"') {
+                    pos = end + 1;
+                    return teams.name(teams.intern(json, start, end));
+                }
+                if (ch == '\\') {
+                    break;
+                }
+            }
+        }
+        // Escapes, null ou valor não-string: caminho geral
+        return teams.name(teams.intern(readString("")));
+    }
+
+    // Caminho lento: string com sequências de escape
+    private String readEscapedString(int start) {
+        StringBuilder sb = new StringBuilder(pos - start + 16);
+        sb.append(json, start, pos);
+        while (pos < length) {
+            char ch = json.charAt(pos++);
+            if (ch == '"') {
+                return sb.toString();
+            }
+            if (ch != '\\') {
+                sb.append(ch);
+                continue;
+            }
+            if (pos >= length) {
+                break;
+            }
+            char esc = json.charAt(pos++);
+            switch (esc) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (pos + 4 > length) {
+                        throw error("Escape unicode incompleto");
+                    }
+                    sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                    pos += 4;
+                    break;
+                default: sb.append(esc); break;
+            }
+        }
+        throw error("String não terminada");
+    }
+
+    private long readLong(long fallback) {
+        char c = peek();
+        if (c == 'n') {
+            skipLiteral();
+            return fallback;
+        }
+        if (c == '"') {
+            // Número serializado como string
+            String text = readString("");
+            try {
+                return (long) Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+        if (c != '-' && (c < '0' || c > '9')) {
+            // true/false, objeto ou array: sem número, como optLong
+            skipValue();
+            return fallback;
+        }
+        int start = pos;
+        boolean negative = c == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (ch < '0' || ch > '9') {
+                break;
+            }
+            value = value * 10 + (ch - '0');
+            digits++;
+            pos++;
+        }
+        if (pos < length && isNumberTail(json.charAt(pos))) {
+            // Fração/expoente (ex.: 1.7e12): delega para o parse de double
+            pos = start;
+            return (long) readDouble(fallback);
+        }
+        if (digits == 0 || digits > 18) {
+            pos = start;
+            return (long) readDouble(fallback);
+        }
+        return negative ? -value : value;
+    }
+
+    private double readDouble(double fallback) {
+        char c = peek();
+        if (c == 'n') {
+            skipLiteral();
+            return fallback;
+        }
+        if (c == '"') {
+            String text = readString("");
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+        if (c != '-' && (c < '0' || c > '9')) {
+            // true/false, objeto ou array: sem número, como optDouble
+            skipValue();
+            return fallback;
+        }
+        int start = pos;
+        boolean negative = c == '-';
+        if (negative) {
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        boolean exact = true;
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (ch >= '0' && ch <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (ch - '0');
+                    digits++;
+                    if (inFraction) {
+                        fractionDigits++;
+                    }
+                } else {
+                    exact = false;
+                }
+            } else if (ch == '.' && !inFraction) {
+                inFraction = true;
+            } else if (ch == 'e' || ch == 'E' || ch == '+' || ch == '-') {
+                exact = false;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Número inválido");
+        }
+        // Mantissa e potência de 10 exatas: a divisão IEEE já dá o valor corretamente arredondado
+        if (exact && mantissa < MAX_EXACT_MANTISSA && fractionDigits < POW10.length) {
+            double value = mantissa / POW10[fractionDigits];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(json.substring(start, pos));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static boolean isNumberTail(char c) {
+        return c == '.' || c == 'e' || c == 'E';
+    }
+
+    // Pula qualquer valor JSON sem materializá-lo
+    private void skipValue() {
+        char c = peek();
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else {
+            skipLiteral();
+        }
+    }
+
+    private void skipString() {
+        pos++; // aspas iniciais
+        while (pos < length) {
+            char ch = json.charAt(pos++);
+            if (ch == '"') {
+                return;
+            }
+            if (ch == '\\') {
+                pos++;
+            }
+        }
+        throw error("String não terminada");
+    }
+
+    private void skipContainer() {
+        int depth = 0;
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (ch == '"') {
+                skipString();
+                continue;
+            }
+            pos++;
+            if (ch == '{' || ch == '[') {
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                if (--depth == 0) {
+                    return;
+                }
+            }
+        }
+        throw error("Objeto/array não terminado");
+    }
+
+    // Números, true, false e null
+    private void skipLiteral() {
+        int start = pos;
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (ch == ',' || ch == '}' || ch == ']' || isWhitespace(ch)) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Valor esperado");
+        }
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Esperado '" + expected + "'");
+        }
+        pos++;
+    }
+
+    // Próximo caractere significativo (pula espaços em branco)
+    private char peek() {
+        while (pos < length) {
+            char ch = json.charAt(pos);
+            if (!isWhitespace(ch)) {
+                return ch;
+            }
+            pos++;
+        }
+        throw error("Fim inesperado do JSON");
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " na posição " + pos);
+    }
+}
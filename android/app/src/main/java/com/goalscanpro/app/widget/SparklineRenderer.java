@@ -0,0 +1,85 @@
+package com.goalscanpro.app.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.util.LruCache;
+
+// Sparkline do saldo num Bitmap, em cache por tamanho e estado do histórico
+final class SparklineRenderer {
+
+    // Limite do cache em bytes (bitmaps ARGB de alguns poucos widgets)
+    private static final int MAX_CACHE_BYTES = 1024 * 1024;
+
+    private static final int COLOR_UP = 0xFF4CAF50;
+    private static final int COLOR_DOWN = 0xFFF44336;
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
+    private SparklineRenderer() {
+    }
+
+    // Chave do cache: tamanho em pixels + versão dos dados
+    static String cacheKey(int widthPx, int heightPx, String historyState) {
+        return widthPx + "x" + heightPx + "@" + historyState;
+    }
+
+    static Bitmap getCached(String key) {
+        return cache.get(key);
+    }
+
+    static Bitmap render(String key, int widthPx, int heightPx, float density, BankHistory.Series series) {
+        Bitmap bitmap = Bitmap.createBitmap(widthPx, heightPx, Bitmap.Config.ARGB_8888);
+        draw(new Canvas(bitmap), widthPx, heightPx, density, series);
+        cache.put(key, bitmap);
+        return bitmap;
+    }
+
+    private static void draw(Canvas canvas, int width, int height, float density, BankHistory.Series series) {
+        int points = series.size();
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double balance : series.balances) {
+            min = Math.min(min, balance);
+            max = Math.max(max, balance);
+        }
+        long start = series.times[0];
+        long span = Math.max(1, series.times[points - 1] - start);
+        double range = max - min;
+
+        float stroke = 2 * density;
+        float top = stroke;
+        float usable = height - 2 * stroke;
+
+        Path path = new Path();
+        for (int i = 0; i < points; i++) {
+            float x = points == 1 ? width : (float) ((series.times[i] - start) * (double) width / span);
+            // Saldo constante: linha reta no meio
+            float y = range > 0
+                ? top + (float) ((max - series.balances[i]) / range * usable)
+                : height / 2f;
+            if (i == 0) {
+                path.moveTo(points == 1 ? 0 : x, y);
+                if (points == 1) {
+                    path.lineTo(x, y);
+                }
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeWidth(stroke);
+        paint.setStrokeCap(Paint.Cap.ROUND);
+        paint.setStrokeJoin(Paint.Join.ROUND);
+        paint.setColor(series.balances[points - 1] >= series.balances[0] ? COLOR_UP : COLOR_DOWN);
+        canvas.drawPath(path, paint);
+    }
+}
@@ -0,0 +1,12 @@
+package com.goalscanpro.app.widget;
+
+// Estatísticas agregadas exibidas pelos widgets
+public class StatsData {
+    public int totalMatches;
+    public int positiveEVCount;
+    public double winRate; // %
+    public double roi; // %
+    public int wonCount;
+    public int lostCount;
+    public double totalProfit;
+}
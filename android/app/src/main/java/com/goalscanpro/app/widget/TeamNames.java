@@ -0,0 +1,101 @@
+package com.goalscanpro.app.widget;
+
+import java.util.Arrays;
+
+// Dicionário de times: um id e uma única String por nome (montado por uma thread, depois só lido)
+final class TeamNames {
+
+    private String[] names;
+    private int size;
+    // Endereçamento aberto: id + 1 de cada nome (0 = vazio); capacidade sempre potência de 2
+    private int[] slots;
+
+    TeamNames() {
+        this(16);
+    }
+
+    TeamNames(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) * 2;
+        names = new String[Math.max(8, expected)];
+        slots = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    // Nomes na ordem dos ids (cópia)
+    String[] toArray() {
+        return Arrays.copyOf(names, size);
+    }
+
+    int intern(String name) {
+        String key = name != null ? name : "";
+        int mask = slots.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return add(key, slot);
+            }
+            if (names[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    // Id do nome em source[start, end); a substring só é criada na primeira ocorrência
+    int intern(String source, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return add(source.substring(start, end), slot);
+            }
+            String candidate = names[entry - 1];
+            if (candidate.length() == length && candidate.regionMatches(0, source, start, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private int add(String name, int slot) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int id = size++;
+        names[id] = name;
+        slots[slot] = id + 1;
+        // Fator de carga até 1/2
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        int[] grown = new int[slots.length * 2];
+        int mask = grown.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(names[id].hashCode()) & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = id + 1;
+        }
+        slots = grown;
+    }
+
+    // Mistura os bits altos do hash (nomes parecidos diferem só no fim)
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
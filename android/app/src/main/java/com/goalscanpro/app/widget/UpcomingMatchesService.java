@@ -0,0 +1,122 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+import android.widget.RemoteViews;
+import android.widget.RemoteViewsService;
+import com.goalscanpro.app.R;
+import java.io.File;
+import java.io.IOException;
+
+// Lista rolável de próximas partidas, lida sob demanda do índice por horário da fotografia
+public class UpcomingMatchesService extends RemoteViewsService {
+
+    @Override
+    public RemoteViewsFactory onGetViewFactory(Intent intent) {
+        return new Factory(getApplicationContext());
+    }
+
+    static final class Factory implements RemoteViewsFactory {
+
+        private static final String TAG = "UpcomingMatchesService";
+
+        private final Context context;
+        private final File file;
+
+        // Fotografia aberta na última atualização e posição da primeira partida futura no índice
+        private WidgetSnapshotFile.Contents contents;
+        private long builtAt;
+        private int first;
+        private int count;
+
+        Factory(Context context) {
+            this.context = context;
+            this.file = WidgetDataProvider.getSnapshotFile(context);
+        }
+
+        @Override
+        public void onCreate() {
+            // Dados carregados em onDataSetChanged (chamado logo em seguida pelo sistema)
+        }
+
+        @Override
+        public void onDataSetChanged() {
+            // Roda numa thread de binder: pode ler o arquivo sem travar a thread principal
+            long now = System.currentTimeMillis();
+            WidgetSnapshotFile.Contents read;
+            try {
+                read = WidgetSnapshotFile.read(file);
+            } catch (IOException | RuntimeException e) {
+                // Arquivo ilegível: a lista continua com a última fotografia lida
+                Log.e(TAG, "Erro ao ler próximas partidas da fotografia", e);
+                return;
+            }
+            contents = read;
+            builtAt = now;
+            first = read != null ? read.kickoffs.firstAfter(now) : 0;
+            count = read != null ? read.kickoffs.size() - first : 0;
+        }
+
+        @Override
+        public void onDestroy() {
+            contents = null;
+            count = 0;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public RemoteViews getViewAt(int position) {
+            RemoteViews row = new RemoteViews(context.getPackageName(), R.layout.widget_upcoming_match_row);
+            if (position >= count) {
+                return row;
+            }
+            MatchData match = contents.matches.get(contents.kickoffs.rowAt(first + position));
+
+            row.setTextViewText(R.id.widget_upcoming_row_teams, WidgetFormat.matchup(match.homeTeam, match.awayTeam));
+            row.setTextViewText(R.id.widget_upcoming_row_time,
+                WidgetFormat.kickoffLabel(match.kickoffAt, builtAt));
+            row.setTextViewText(R.id.widget_upcoming_row_probability,
+                WidgetFormat.percent(match.probability, 0));
+            row.setTextViewText(R.id.widget_upcoming_row_ev,
+                "EV: " + WidgetFormat.signedPercent(match.ev, 1));
+            // Cor do EV baseado no valor
+            row.setInt(R.id.widget_upcoming_row_ev, "setBackgroundColor",
+                match.ev > 0 ? 0x334CAF50 : 0x33F44336);
+
+            // Completa o template de clique do widget com a partida tocada
+            Intent fillIn = new Intent();
+            fillIn.putExtra("matchId", match.id);
+            row.setOnClickFillInIntent(R.id.widget_upcoming_row, fillIn);
+            return row;
+        }
+
+        @Override
+        public RemoteViews getLoadingView() {
+            return null; // usa a view de carregamento padrão
+        }
+
+        @Override
+        public int getViewTypeCount() {
+            return 1;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            if (position >= count) {
+                return position;
+            }
+            int row = contents.kickoffs.rowAt(first + position);
+            return FingerprintedViews.stableId(contents.matches.id(row));
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+    }
+}
@@ -4,12 +4,9 @@ import android.appwidget.AppWidgetManager;
 import android.appwidget.AppWidgetProvider;
 import android.content.Context;
 import android.content.Intent;
-import android.widget.RemoteViews;
+import android.net.Uri;
 import com.goalscanpro.app.R;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 public class UpcomingMatchesWidget extends AppWidgetProvider {
     
@@ -17,9 +14,9 @@ public class UpcomingMatchesWidget extends AppWidgetProvider {
     
     @Override
     public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
-        for (int appWidgetId : appWidgetIds) {
-            updateAppWidget(context, appWidgetManager, appWidgetId);
-        }
+        // Carga e renderização fora da thread principal (goAsync + pool limitado)
+        WidgetRenderExecutor.render(this, context,
+            new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_UPCOMING, UpcomingMatchesWidget::updateAppWidget, appWidgetIds));
     }
     
     @Override
@@ -32,21 +29,30 @@ public class UpcomingMatchesWidget extends AppWidgetProvider {
         // Widget desabilitado
     }
     
-    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId) {
-        List<WidgetDataProvider.MatchData> upcomingMatches = WidgetDataProvider.getUpcomingMatches(context);
-        
-        RemoteViews views;
+    @Override
+    public void onDeleted(Context context, int[] appWidgetIds) {
+        WidgetPushCache.forget(appWidgetIds);
+    }
+    
+    static void updateAppWidget(Context context, AppWidgetManager appWidgetManager, int appWidgetId,
+                                WidgetSnapshot snapshot) {
+        FingerprintedViews views;
         
         // Determinar qual layout usar baseado no tamanho do widget
         int minHeight = appWidgetManager.getAppWidgetOptions(appWidgetId).getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_HEIGHT);
         
         // Se altura mínima > 150dp, usar layout medium
-        if (minHeight > 150) {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_upcoming_matches_medium);
-            updateMediumLayout(context, views, upcomingMatches);
+        boolean medium = minHeight > 150;
+        if (medium) {
+            views = new FingerprintedViews(context, R.layout.widget_upcoming_matches_medium);
+            updateMediumLayout(context, views, appWidgetId, snapshot);
         } else {
-            views = new RemoteViews(context.getPackageName(), R.layout.widget_upcoming_matches_small);
-            updateSmallLayout(context, views, upcomingMatches);
+            views = new FingerprintedViews(context, R.layout.widget_upcoming_matches_small);
+            // Só a próxima partida: busca binária no índice por horário
+            long start = WidgetMetrics.start();
+            List<MatchData> next = snapshot.getUpcomingMatches(1);
+            WidgetMetrics.Timer.UPCOMING.record(start);
+            updateSmallLayout(context, views, next, snapshot.builtAt);
         }
         
         // Intent para abrir o app ao tocar no widget
@@ -58,27 +64,34 @@ public class UpcomingMatchesWidget extends AppWidgetProvider {
             android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_IMMUTABLE
         );
         // Configurar click em todo o widget
-        views.setOnClickPendingIntent(R.id.widget_upcoming_container, pendingIntent);
+        views.views.setOnClickPendingIntent(R.id.widget_upcoming_container, pendingIntent);
         
-        appWidgetManager.updateAppWidget(appWidgetId, views);
+        // Só envia ao launcher se o conteúdo mudou
+        WidgetPushCache.pushIfChanged(appWidgetManager, appWidgetId, views);
+        
+        if (medium) {
+            // A lista é recarregada pela factory; o restante do widget não é reenviado
+            appWidgetManager.notifyAppWidgetViewDataChanged(appWidgetId, R.id.widget_upcoming_list);
+        }
     }
     
-    private static void updateSmallLayout(Context context, RemoteViews views, List<WidgetDataProvider.MatchData> matches) {
+    private static void updateSmallLayout(Context context, FingerprintedViews views, List<MatchData> matches,
+                                          long now) {
         if (matches != null && !matches.isEmpty()) {
-            WidgetDataProvider.MatchData nextMatch = matches.get(0);
+            MatchData nextMatch = matches.get(0);
             
-            String teams = nextMatch.homeTeam + " vs " + nextMatch.awayTeam;
+            String teams = WidgetFormat.matchup(nextMatch.homeTeam, nextMatch.awayTeam);
             views.setTextViewText(R.id.widget_upcoming_teams, teams);
             
             // Formatar data/hora
-            String timeStr = formatMatchTime(nextMatch.matchDate, nextMatch.matchTime);
+            String timeStr = WidgetFormat.kickoffLabel(nextMatch.kickoffAt, now);
             views.setTextViewText(R.id.widget_upcoming_time, timeStr);
             
             // Probabilidade e EV
             views.setTextViewText(R.id.widget_upcoming_probability, 
-                String.format(Locale.getDefault(), "%.0f%%", nextMatch.probability));
+                WidgetFormat.percent(nextMatch.probability, 0));
             
-            String evText = String.format(Locale.getDefault(), "EV: %+.1f%%", nextMatch.ev);
+            String evText = "EV: " + WidgetFormat.signedPercent(nextMatch.ev, 1);
             views.setTextViewText(R.id.widget_upcoming_ev, evText);
             
             // Cor do EV baseado no valor
@@ -95,55 +108,27 @@ public class UpcomingMatchesWidget extends AppWidgetProvider {
         }
     }
     
-    private static void updateMediumLayout(Context context, RemoteViews views, List<WidgetDataProvider.MatchData> matches) {
-        // Para layout medium, mostrar múltiplas partidas
-        // Por limitações do RemoteViews, vamos mostrar apenas a primeira partida por enquanto
-        // Em uma implementação mais avançada, poderia usar RemoteViewsService
-        if (matches != null && !matches.isEmpty()) {
-            updateSmallLayout(context, views, matches);
-        } else {
-            views.setTextViewText(R.id.widget_upcoming_title, "Nenhuma partida agendada");
-        }
-    }
-    
-    private static String formatMatchTime(String date, String time) {
-        try {
-            if (date != null && !date.isEmpty() && time != null && !time.isEmpty()) {
-                String[] dateParts = date.split("-");
-                String[] timeParts = time.split(":");
-                
-                if (dateParts.length == 3 && timeParts.length >= 2) {
-                    int year = Integer.parseInt(dateParts[0]);
-                    int month = Integer.parseInt(dateParts[1]) - 1;
-                    int day = Integer.parseInt(dateParts[2]);
-                    int hour = Integer.parseInt(timeParts[0]);
-                    int minute = Integer.parseInt(timeParts[1]);
-                    
-                    java.util.Calendar cal = java.util.Calendar.getInstance();
-                    cal.set(year, month, day, hour, minute, 0);
-                    
-                    java.util.Calendar now = java.util.Calendar.getInstance();
-                    long diff = cal.getTimeInMillis() - now.getTimeInMillis();
-                    
-                    if (diff < 24 * 60 * 60 * 1000) {
-                        // Hoje
-                        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
-                        return "Hoje, " + timeFormat.format(cal.getTime());
-                    } else if (diff < 2 * 24 * 60 * 60 * 1000) {
-                        // Amanhã
-                        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
-                        return "Amanhã, " + timeFormat.format(cal.getTime());
-                    } else {
-                        // Outra data
-                        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM, HH:mm", Locale.getDefault());
-                        return dateFormat.format(cal.getTime());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // Ignorar erros de parsing
-        }
-        return "";
+    private static void updateMediumLayout(Context context, FingerprintedViews views, int appWidgetId,
+                                           WidgetSnapshot snapshot) {
+        int count = snapshot.getUpcomingCount();
+        views.setTextViewText(R.id.widget_upcoming_title,
+            count > 0 ? "Próximas Partidas (" + count + ")" : "Próximas Partidas");
+        
+        // Linhas servidas sob demanda pelo UpcomingMatchesService (uma factory por widget)
+        Intent serviceIntent = new Intent(context, UpcomingMatchesService.class);
+        serviceIntent.putExtra(AppWidgetManager.EXTRA_APPWIDGET_ID, appWidgetId);
+        serviceIntent.setData(Uri.parse(serviceIntent.toUri(Intent.URI_INTENT_SCHEME)));
+        views.views.setRemoteAdapter(R.id.widget_upcoming_list, serviceIntent);
+        views.views.setEmptyView(R.id.widget_upcoming_list, R.id.widget_upcoming_empty);
+        
+        // Toque numa linha abre a partida (a linha completa o intent com o matchId)
+        Intent rowIntent = new Intent(context, com.goalscanpro.app.MainActivity.class);
+        rowIntent.putExtra("action", "open_matches");
+        rowIntent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        android.app.PendingIntent rowTemplate = android.app.PendingIntent.getActivity(
+            context, 1, rowIntent,
+            android.app.PendingIntent.FLAG_UPDATE_CURRENT | android.app.PendingIntent.FLAG_MUTABLE
+        );
+        views.views.setPendingIntentTemplate(R.id.widget_upcoming_list, rowTemplate);
     }
 }
-
@@ -0,0 +1,73 @@
+package com.goalscanpro.app.widget;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+// Alarme único (RTC, inexato) para o próximo instante em que algo visível muda
+final class WidgetAlarmScheduler {
+
+    private static final String TAG = "WidgetAlarmScheduler";
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    // Margem para o alarme não disparar um instante antes da mudança
+    private static final long FIRE_SLACK_MS = 1000;
+
+    private WidgetAlarmScheduler() {
+    }
+
+    // Reposiciona o alarme a partir da fotografia recém-renderizada
+    static void schedule(Context context, WidgetSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        // Mesmo fuso dos horários de início e dos rótulos
+        long triggerAt = nextRefreshAt(snapshot.getKickoffIndex(), now, KickoffTime.zone());
+
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        if (alarmManager == null) {
+            return;
+        }
+        // RTC (sem wakeup) e inexato: o sistema pode agrupar com outros alarmes
+        alarmManager.set(AlarmManager.RTC, triggerAt + FIRE_SLACK_MS, refreshIntent(context));
+        Log.d(TAG, "Próxima atualização em " + ((triggerAt - now) / 1000) + " s");
+    }
+
+    // Próximo início, trocas Hoje/Amanhã ou meia-noite em zone, o que vier antes
+    static long nextRefreshAt(KickoffIndex kickoffs, long now, TimeZone zone) {
+        long next = nextMidnight(now, zone);
+        next = earliest(next, kickoffs.nextKickoff(now), 0);
+        // Próxima partida a cruzar 24 h / 48 h: a primeira com início depois de now + 24 h / 48 h
+        next = earliest(next, kickoffs.nextKickoff(now + DAY_MS), DAY_MS);
+        next = earliest(next, kickoffs.nextKickoff(now + 2 * DAY_MS), 2 * DAY_MS);
+        return next;
+    }
+
+    private static long earliest(long current, long kickoff, long offset) {
+        if (kickoff == KickoffTime.UNKNOWN) {
+            return current;
+        }
+        return Math.min(current, kickoff - offset);
+    }
+
+    // Início do dia seguinte em zone (num dia sem 00:00 por horário de verão, 01:00)
+    static long nextMidnight(long now, TimeZone zone) {
+        Calendar cal = Calendar.getInstance(zone);
+        cal.setTimeInMillis(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        return cal.getTimeInMillis();
+    }
+
+    private static PendingIntent refreshIntent(Context context) {
+        Intent intent = new Intent(context, WidgetUpdateReceiver.class)
+            .setAction(WidgetUpdateReceiver.ACTION_UPDATE_WIDGETS);
+        return PendingIntent.getBroadcast(context, 0, intent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+}
@@ -3,12 +3,11 @@ package com.goalscanpro.app.widget;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 public class WidgetDataProvider {
@@ -16,87 +15,112 @@ public class WidgetDataProvider {
     private static final String PREFS_NAME = "goalscan_prefs";
     private static final String KEY_SAVED_MATCHES = "goalscan_saved";
     private static final String KEY_BANK_SETTINGS = "goalscan_bank_settings";
+    private static final String KEY_DATA_VERSION = "goalscan_widget_version";
 
-    // Classe para representar uma partida salva
-    public static class MatchData {
-        public String id;
-        public String homeTeam;
-        public String awayTeam;
-        public String matchDate;
-        public String matchTime;
-        public double probability;
-        public double ev;
-        public double odd;
-        public String betStatus; // pending, won, lost, cancelled
-        public double betAmount;
-        public double potentialReturn;
-        public long timestamp;
-        public Long resultAt;
+    // Montar a fotografia compartilhada por todos os widgets (um único parse por atualização)
+    public static WidgetSnapshot loadSnapshot(Context context) {
+        long start = WidgetMetrics.start();
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        long version = prefs.getLong(KEY_DATA_VERSION, 0);
+        WidgetSnapshotFile.Contents contents = readSnapshotFile(context);
+        // Agregado gravado junto com as partidas; só recalcula se estiver ausente/desatualizado
+        WidgetStatsAggregate stats = contents.stats;
+        if (stats == null) {
+            long statsStart = WidgetMetrics.start();
+            stats = WidgetStatsAggregate.rebuild(contents.matches);
+            WidgetMetrics.Timer.STATS.record(statsStart);
+        }
+        long now = System.currentTimeMillis();
+        BankData bank = getBankSettings(context);
+        WidgetSnapshot snapshot = new WidgetSnapshot(version, now, contents.matches, bank, stats,
+            contents.kickoffs, contents.settled, getDailyBankChange(context, bank, now));
+        WidgetMetrics.Timer.LOAD.record(start);
+        return snapshot;
     }
 
-    // Classe para representar configurações de banca
-    public static class BankData {
-        public double totalBank;
-        public String currency;
-        public long updatedAt;
+    // Arquivo binário com a fotografia das partidas (armazenamento privado do app)
+    public static File getSnapshotFile(Context context) {
+        return new File(context.getFilesDir(), WidgetSnapshotFile.FILE_NAME);
     }
 
-    // Ler partidas salvas do SharedPreferences
-    public static List<MatchData> getSavedMatches(Context context) {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        String matchesJson = prefs.getString(KEY_SAVED_MATCHES, "[]");
-        
+    // Conteúdo completo da fotografia (partidas, revisão e agregado de estatísticas)
+    static WidgetSnapshotFile.Contents readSnapshotFile(Context context) {
+        WidgetSnapshotFile.Contents contents = readSnapshotFileOrNull(context);
+        if (contents != null) {
+            return contents;
+        }
+        // Sem fotografia gravada: a migração do formato antigo (única escrita fora do
+        // sincronismo) acontece só dentro do WidgetMatchStore, sob o lock dele
+        return WidgetMatchStore.getInstance(context).toContents();
+    }
+
+    // Carga inicial do WidgetMatchStore (fotografia ou migração); só o store chama
+    static WidgetSnapshotFile.Contents readOrMigrate(Context context) {
+        WidgetSnapshotFile.Contents contents = readSnapshotFileOrNull(context);
+        return contents != null ? contents : migrateLegacyMatches(context);
+    }
+
+    private static WidgetSnapshotFile.Contents readSnapshotFileOrNull(Context context) {
+        try {
+            return WidgetSnapshotFile.read(getSnapshotFile(context));
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao ler fotografia dos widgets", e);
+            return null;
+        }
+    }
+
+    // Converter o JSON de SavedAnalysis[]; malformado gera IllegalArgumentException
+    public static List<MatchData> parseSavedMatches(String matchesJson) {
+        long start = WidgetMetrics.start();
         List<MatchData> matches = new ArrayList<>();
         
+        boolean traced = WidgetTrace.begin("parseSavedMatches");
         try {
-            JSONArray jsonArray = new JSONArray(matchesJson);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject matchObj = jsonArray.getJSONObject(i);
-                MatchData match = parseMatchData(matchObj);
-                if (match != null) {
-                    matches.add(match);
-                }
+            // Parse em streaming: só os campos usados pelos widgets são materializados
+            SavedMatchesParser.parse(matchesJson, matches);
+        } finally {
+            WidgetTrace.end(traced);
+        }
+        
+        int invalidKickoffs = 0;
+        for (MatchData match : matches) {
+            if (match.kickoffAt == KickoffTime.UNKNOWN && match.matchDate != null && !match.matchDate.isEmpty()) {
+                invalidKickoffs++;
             }
-        } catch (JSONException e) {
-            Log.e(TAG, "Erro ao parsear partidas salvas", e);
+        }
+        if (invalidKickoffs > 0) {
+            Log.w(TAG, invalidKickoffs + " partida(s) com data/hora inválida ficarão fora das próximas partidas");
         }
         
+        WidgetMetrics.Timer.PARSE.record(start);
         return matches;
     }
 
-    // Parsear um objeto JSON de partida
-    private static MatchData parseMatchData(JSONObject matchObj) {
+    // Migrar uma única vez o JSON antigo do SharedPreferences (revisão 0)
+    private static WidgetSnapshotFile.Contents migrateLegacyMatches(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String matchesJson = prefs.getString(KEY_SAVED_MATCHES, null);
+        if (matchesJson == null) {
+            return new WidgetSnapshotFile.Contents(0, MatchTable.EMPTY, new WidgetStatsAggregate());
+        }
+        
+        List<MatchData> matches;
         try {
-            MatchData match = new MatchData();
-            match.id = matchObj.optString("id", "");
-            match.timestamp = matchObj.optLong("timestamp", 0);
-            
-            JSONObject data = matchObj.getJSONObject("data");
-            match.homeTeam = data.optString("homeTeam", "");
-            match.awayTeam = data.optString("awayTeam", "");
-            match.matchDate = data.optString("matchDate", "");
-            match.matchTime = data.optString("matchTime", "");
-            match.odd = data.optDouble("oddOver15", 0);
-            
-            JSONObject result = matchObj.getJSONObject("result");
-            match.probability = result.optDouble("probabilityOver15", 0);
-            match.ev = result.optDouble("ev", 0);
-            
-            if (matchObj.has("betInfo")) {
-                JSONObject betInfo = matchObj.getJSONObject("betInfo");
-                match.betStatus = betInfo.optString("status", "");
-                match.betAmount = betInfo.optDouble("betAmount", 0);
-                match.potentialReturn = betInfo.optDouble("potentialReturn", 0);
-                if (betInfo.has("resultAt") && !betInfo.isNull("resultAt")) {
-                    match.resultAt = betInfo.optLong("resultAt");
-                }
-            }
-            
-            return match;
-        } catch (JSONException e) {
-            Log.e(TAG, "Erro ao parsear partida individual", e);
-            return null;
+            matches = parseSavedMatches(matchesJson);
+        } catch (IllegalArgumentException e) {
+            // JSON antigo corrompido: mantém a preferência intacta e não grava nada
+            Log.e(TAG, "Erro ao parsear partidas salvas; migração adiada", e);
+            return new WidgetSnapshotFile.Contents(0, MatchTable.EMPTY, new WidgetStatsAggregate());
+        }
+        WidgetStatsAggregate stats = WidgetStatsAggregate.rebuild(matches);
+        long revision = 0;
+        try {
+            WidgetSnapshotFile.write(getSnapshotFile(context), revision, matches, stats);
+            prefs.edit().remove(KEY_SAVED_MATCHES).apply();
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao migrar partidas salvas para a fotografia binária", e);
         }
+        return new WidgetSnapshotFile.Contents(revision, MatchTable.of(matches), stats);
     }
 
     // Obter configurações de banca
@@ -108,6 +132,11 @@ public class WidgetDataProvider {
             return null;
         }
         
+        return parseBankSettings(bankJson);
+    }
+
+    // Converter o JSON de BankSettings recebido do app
+    public static BankData parseBankSettings(String bankJson) {
         try {
             JSONObject bankObj = new JSONObject(bankJson);
             BankData bank = new BankData();
@@ -121,158 +150,21 @@ public class WidgetDataProvider {
         }
     }
 
-    // Filtrar partidas futuras
-    public static List<MatchData> getUpcomingMatches(Context context) {
-        List<MatchData> allMatches = getSavedMatches(context);
-        List<MatchData> upcoming = new ArrayList<>();
-        long now = System.currentTimeMillis();
-        
-        for (MatchData match : allMatches) {
-            if (match.matchDate != null && !match.matchDate.isEmpty() && 
-                match.matchTime != null && !match.matchTime.isEmpty()) {
-                try {
-                    String[] dateParts = match.matchDate.split("-");
-                    String[] timeParts = match.matchTime.split(":");
-                    
-                    if (dateParts.length == 3 && timeParts.length >= 2) {
-                        int year = Integer.parseInt(dateParts[0]);
-                        int month = Integer.parseInt(dateParts[1]) - 1;
-                        int day = Integer.parseInt(dateParts[2]);
-                        int hour = Integer.parseInt(timeParts[0]);
-                        int minute = Integer.parseInt(timeParts[1]);
-                        
-                        java.util.Calendar cal = java.util.Calendar.getInstance();
-                        cal.set(year, month, day, hour, minute, 0);
-                        long matchTime = cal.getTimeInMillis();
-                        
-                        if (matchTime > now) {
-                            upcoming.add(match);
-                        }
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Erro ao parsear data/hora da partida", e);
-                }
-            }
-        }
-        
-        // Ordenar por data/hora mais próxima
-        Collections.sort(upcoming, new Comparator<MatchData>() {
-            @Override
-            public int compare(MatchData m1, MatchData m2) {
-                try {
-                    long t1 = getMatchTimestamp(m1);
-                    long t2 = getMatchTimestamp(m2);
-                    return Long.compare(t1, t2);
-                } catch (Exception e) {
-                    return 0;
-                }
-            }
-        });
-        
-        return upcoming;
-    }
-
-    // Obter timestamp de uma partida
-    private static long getMatchTimestamp(MatchData match) {
-        try {
-            String[] dateParts = match.matchDate.split("-");
-            String[] timeParts = match.matchTime.split(":");
-            
-            int year = Integer.parseInt(dateParts[0]);
-            int month = Integer.parseInt(dateParts[1]) - 1;
-            int day = Integer.parseInt(dateParts[2]);
-            int hour = Integer.parseInt(timeParts[0]);
-            int minute = Integer.parseInt(timeParts[1]);
-            
-            java.util.Calendar cal = java.util.Calendar.getInstance();
-            cal.set(year, month, day, hour, minute, 0);
-            return cal.getTimeInMillis();
-        } catch (Exception e) {
-            return 0;
-        }
-    }
-
-    // Obter resultados recentes (won ou lost)
-    public static List<MatchData> getRecentResults(Context context) {
-        List<MatchData> allMatches = getSavedMatches(context);
-        List<MatchData> results = new ArrayList<>();
-        
-        for (MatchData match : allMatches) {
-            if (match.betStatus != null && 
-                (match.betStatus.equals("won") || match.betStatus.equals("lost"))) {
-                results.add(match);
-            }
-        }
-        
-        // Ordenar por resultAt ou timestamp (mais recente primeiro)
-        Collections.sort(results, new Comparator<MatchData>() {
-            @Override
-            public int compare(MatchData m1, MatchData m2) {
-                long t1 = (m1.resultAt != null) ? m1.resultAt : m1.timestamp;
-                long t2 = (m2.resultAt != null) ? m2.resultAt : m2.timestamp;
-                return Long.compare(t2, t1); // Ordem decrescente
-            }
-        });
-        
-        return results;
-    }
-
-    // Calcular estatísticas agregadas
-    public static class StatsData {
-        public int totalMatches;
-        public int positiveEVCount;
-        public double winRate; // %
-        public double roi; // %
-        public int wonCount;
-        public int lostCount;
-        public double totalProfit;
+    // Histórico do saldo da banca (buffer circular em disco)
+    public static File getBankHistoryFile(Context context) {
+        return new File(context.getFilesDir(), BankHistory.FILE_NAME);
     }
 
-    public static StatsData calculateStats(Context context) {
-        StatsData stats = new StatsData();
-        List<MatchData> allMatches = getSavedMatches(context);
-        BankData bank = getBankSettings(context);
-        
-        stats.totalMatches = allMatches.size();
-        
-        int wonCount = 0;
-        int lostCount = 0;
-        double totalProfit = 0;
-        int positiveEV = 0;
-        
-        for (MatchData match : allMatches) {
-            if (match.ev > 0) {
-                positiveEV++;
-            }
-            
-            if (match.betStatus != null) {
-                if (match.betStatus.equals("won")) {
-                    wonCount++;
-                    totalProfit += (match.potentialReturn - match.betAmount);
-                } else if (match.betStatus.equals("lost")) {
-                    lostCount++;
-                    totalProfit -= match.betAmount;
-                }
-            }
-        }
-        
-        stats.positiveEVCount = positiveEV;
-        stats.wonCount = wonCount;
-        stats.lostCount = lostCount;
-        stats.totalProfit = totalProfit;
-        
-        int totalBets = wonCount + lostCount;
-        if (totalBets > 0) {
-            stats.winRate = (wonCount * 100.0) / totalBets;
+    // Variação do saldo atual desde a meia-noite, a partir do histórico
+    static BankHistory.Change getDailyBankChange(Context context, BankData bank, long now) {
+        if (bank == null) {
+            return BankHistory.NO_CHANGE;
         }
-        
-        // Calcular ROI (assumindo banca inicial como referência)
-        if (bank != null && bank.totalBank > 0) {
-            // ROI aproximado baseado no lucro total
-            stats.roi = (totalProfit * 100.0) / bank.totalBank;
+        try {
+            return BankHistory.readDailyChange(getBankHistoryFile(context), bank.totalBank, now);
+        } catch (IOException e) {
+            Log.e(TAG, "Erro ao ler histórico da banca", e);
+            return BankHistory.NO_CHANGE;
         }
-        
-        return stats;
     }
 }
-
@@ -0,0 +1,296 @@
+package com.goalscanpro.app.widget;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// Textos dos widgets montados à mão em buffers por thread (sem String.format/NumberFormat)
+final class WidgetFormat {
+
+    private static final long[] POW10 = {1, 10, 100, 1000, 10000};
+    // Acima disso o caminho manual perderia precisão; cai no BigDecimal
+    private static final double MAX_FAST_VALUE = 1e12;
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    // Moeda exibida quando a banca não informa (mesmo padrão do app)
+    private static final String DEFAULT_CURRENCY = "BRL";
+
+    private static final ThreadLocal<StringBuilder> builders = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(32);
+        }
+    };
+    private static final ThreadLocal<Calendar> calendars = new ThreadLocal<Calendar>() {
+        @Override
+        protected Calendar initialValue() {
+            return Calendar.getInstance(KickoffTime.zone());
+        }
+    };
+
+    // Rótulos "mandante vs visitante" já montados (cache de mapeamento direto, sem lock)
+    private static final int MATCHUP_CACHE_SIZE = 256;
+    private static final Matchup[] matchups = new Matchup[MATCHUP_CACHE_SIZE];
+
+    // Separador decimal do idioma do aparelho (percentuais), recalculado se o idioma mudar
+    private static volatile Locale separatorLocale;
+    private static volatile char decimalSeparator;
+
+    private WidgetFormat() {
+    }
+
+    // Símbolo da moeda a partir do código ISO (ou do próprio símbolo, em dados antigos)
+    static String currencySymbol(String currency) {
+        String code = currency != null && !currency.isEmpty() ? currency : DEFAULT_CURRENCY;
+        switch (code.toUpperCase(Locale.ROOT)) {
+            case "BRL": return "R$";
+            case "USD": return "$";
+            case "EUR": return "€";
+            case "GBP": return "£";
+            default: return code;
+        }
+    }
+
+    // Valor monetário no padrão brasileiro: "R$ 1.234,56" / "-R$ 10,00"
+    static String currency(double amount, String currency) {
+        return money(amount, currency, false);
+    }
+
+    // Variação monetária sempre com sinal: "+R$ 4,50" / "-R$ 10,00"
+    static String signedCurrency(double amount, String currency) {
+        return money(amount, currency, true);
+    }
+
+    // Percentual sem sinal: "75%"
+    static String percent(double value, int decimals) {
+        StringBuilder sb = builder();
+        appendNumber(sb, value, decimals, localDecimalSeparator(), (char) 0, false);
+        return sb.append('%').toString();
+    }
+
+    // Percentual com sinal: "+5,2%"
+    static String signedPercent(double value, int decimals) {
+        StringBuilder sb = builder();
+        appendNumber(sb, value, decimals, localDecimalSeparator(), (char) 0, true);
+        return sb.append('%').toString();
+    }
+
+    // Número simples no idioma do aparelho: "1,45"
+    static String decimal(double value, int decimals) {
+        StringBuilder sb = builder();
+        appendNumber(sb, value, decimals, localDecimalSeparator(), (char) 0, false);
+        return sb.toString();
+    }
+
+    // "Hoje, 20:00", "Amanhã, 20:00" ou "dd/MM, HH:mm"
+    static String kickoffLabel(long kickoffAt, long now) {
+        if (kickoffAt == KickoffTime.UNKNOWN) {
+            return "";
+        }
+        Calendar cal = calendars.get();
+        // Mesmo fuso usado na conversão do horário de início
+        TimeZone zone = KickoffTime.zone();
+        if (cal.getTimeZone() != zone) {
+            cal.setTimeZone(zone);
+        }
+        cal.setTimeInMillis(kickoffAt);
+
+        StringBuilder sb = builder();
+        long diff = kickoffAt - now;
+        if (diff < DAY_MS) {
+            sb.append("Hoje, ");
+        } else if (diff < 2 * DAY_MS) {
+            sb.append("Amanhã, ");
+        } else {
+            appendTwoDigits(sb, cal.get(Calendar.DAY_OF_MONTH));
+            sb.append('/');
+            appendTwoDigits(sb, cal.get(Calendar.MONTH) + 1);
+            sb.append(", ");
+        }
+        appendTwoDigits(sb, cal.get(Calendar.HOUR_OF_DAY));
+        sb.append(':');
+        appendTwoDigits(sb, cal.get(Calendar.MINUTE));
+        return sb.toString();
+    }
+
+    // Mesmo texto do NumberFormat pt-BR (inclusive NaN e infinito), com espaço comum após o símbolo
+    private static String money(double amount, String currency, boolean signed) {
+        if (Double.isNaN(amount)) {
+            return "NaN";
+        }
+        StringBuilder sb = builder();
+        double abs = Math.abs(amount);
+        if (Double.isInfinite(amount)) {
+            appendSign(sb, amount < 0, signed);
+            return sb.append(currencySymbol(currency)).append(" \u221E").toString();
+        }
+        long scaled = fastScaled(abs, 2);
+        BigDecimal exact = scaled < 0 ? exactScaled(abs, 2) : null;
+        appendSign(sb, amount < 0 && !isZero(scaled, exact), signed);
+        sb.append(currencySymbol(currency)).append(' ');
+        appendDigits(sb, scaled, exact, 2, ',', '.');
+        return sb.toString();
+    }
+
+    // "Casa vs Fora", mesma instância para o mesmo confronto
+    static String matchup(String homeTeam, String awayTeam) {
+        String home = homeTeam != null ? homeTeam : "";
+        String away = awayTeam != null ? awayTeam : "";
+        int slot = (home.hashCode() * 31 + away.hashCode()) & (MATCHUP_CACHE_SIZE - 1);
+        Matchup cached = matchups[slot];
+        if (cached != null && cached.home.equals(home) && cached.away.equals(away)) {
+            return cached.label;
+        }
+        // Entrada imutável: uma corrida entre threads só custa uma concatenação a mais
+        Matchup created = new Matchup(home, away, home + " vs " + away);
+        matchups[slot] = created;
+        return created.label;
+    }
+
+    private static final class Matchup {
+        final String home;
+        final String away;
+        final String label;
+
+        Matchup(String home, String away, String label) {
+            this.home = home;
+            this.away = away;
+            this.label = label;
+        }
+    }
+
+    private static StringBuilder builder() {
+        StringBuilder sb = builders.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static char localDecimalSeparator() {
+        Locale locale = Locale.getDefault();
+        if (locale != separatorLocale) {
+            decimalSeparator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+            separatorLocale = locale;
+        }
+        return decimalSeparator;
+    }
+
+    private static void appendNumber(StringBuilder sb, double value, int decimals, char decimalSep,
+                                     char groupSep, boolean signed) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append(String.format(Locale.getDefault(), signed ? "%+." + decimals + "f" : "%." + decimals + "f", value));
+            return;
+        }
+        double abs = Math.abs(value);
+        long scaled = fastScaled(abs, decimals);
+        BigDecimal exact = scaled < 0 ? exactScaled(abs, decimals) : null;
+        // Negativo só se sobrar algo depois do arredondamento (evita "-0,0")
+        appendSign(sb, value < 0 && !isZero(scaled, exact), signed);
+        appendDigits(sb, scaled, exact, decimals, decimalSep, groupSep);
+    }
+
+    // |valor| * 10^decimals arredondado; -1 quando o resultado do double multiplicado cai num
+    // empate (o valor exato pode estar abaixo ou acima dele) ou não cabe no caminho rápido
+    private static long fastScaled(double abs, int decimals) {
+        if (abs >= MAX_FAST_VALUE) {
+            return -1;
+        }
+        double magnitude = abs * POW10[decimals];
+        if (magnitude - Math.floor(magnitude) == 0.5) {
+            return -1;
+        }
+        return Math.round(magnitude);
+    }
+
+    // Arredondamento do NumberFormat: sobre os dígitos do Double.toString, e no empate decide o
+    // valor binário exato (HALF_EVEN só se ele mesmo for o empate)
+    private static BigDecimal exactScaled(double abs, int decimals) {
+        BigDecimal shortest = BigDecimal.valueOf(abs);
+        BigDecimal down = shortest.setScale(decimals, RoundingMode.DOWN);
+        BigDecimal half = BigDecimal.valueOf(5, decimals + 1);
+        if (shortest.subtract(down).compareTo(half) != 0) {
+            return shortest.setScale(decimals, RoundingMode.HALF_UP);
+        }
+        int side = new BigDecimal(abs).compareTo(shortest);
+        if (side == 0) {
+            return shortest.setScale(decimals, RoundingMode.HALF_EVEN);
+        }
+        return side > 0 ? shortest.setScale(decimals, RoundingMode.UP) : down;
+    }
+
+    private static boolean isZero(long scaled, BigDecimal exact) {
+        return exact != null ? exact.signum() == 0 : scaled == 0;
+    }
+
+    private static void appendSign(StringBuilder sb, boolean negative, boolean signed) {
+        if (negative) {
+            sb.append('-');
+        } else if (signed) {
+            sb.append('+');
+        }
+    }
+
+    private static void appendDigits(StringBuilder sb, long scaled, BigDecimal exact, int decimals,
+                                     char decimalSep, char groupSep) {
+        if (exact != null) {
+            appendDigits(sb, exact.unscaledValue().toString(), decimals, decimalSep, groupSep);
+            return;
+        }
+        long scale = POW10[decimals];
+        appendGrouped(sb, scaled / scale, groupSep);
+        if (decimals > 0) {
+            sb.append(decimalSep);
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + (fraction / digit) % 10));
+            }
+        }
+    }
+
+    // Dígitos do valor já escalado (sem separadores), completados com zeros à esquerda
+    private static void appendDigits(StringBuilder sb, String digits, int decimals, char decimalSep,
+                                     char groupSep) {
+        StringBuilder padded = new StringBuilder(Math.max(digits.length(), decimals + 1));
+        for (int i = digits.length(); i <= decimals; i++) {
+            padded.append('0');
+        }
+        padded.append(digits);
+        int intLength = padded.length() - decimals;
+        for (int i = 0; i < intLength; i++) {
+            if (groupSep != 0 && i > 0 && (intLength - i) % 3 == 0) {
+                sb.append(groupSep);
+            }
+            sb.append(padded.charAt(i));
+        }
+        if (decimals > 0) {
+            sb.append(decimalSep).append(padded, intLength, padded.length());
+        }
+    }
+
+    private static void appendGrouped(StringBuilder sb, long value, char groupSep) {
+        if (value < 1000 || groupSep == 0) {
+            sb.append(value);
+            return;
+        }
+        appendGrouped(sb, value / 1000, groupSep);
+        sb.append(groupSep);
+        long group = value % 1000;
+        if (group < 100) {
+            sb.append('0');
+        }
+        if (group < 10) {
+            sb.append('0');
+        }
+        sb.append(group);
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+}
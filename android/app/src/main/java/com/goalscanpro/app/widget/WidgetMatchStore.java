@@ -0,0 +1,148 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// Partidas dos widgets por id; alterações com revisão antiga chegaram fora de ordem e são descartadas
+public final class WidgetMatchStore {
+
+    private static final String TAG = "WidgetMatchStore";
+
+    private static WidgetMatchStore instance;
+
+    private final File file;
+    // Ordem de inserção preservada: mesma ordem do array salvo no app
+    private final LinkedHashMap<String, MatchData> matches = new LinkedHashMap<>();
+    private long revision;
+    private WidgetStatsAggregate stats = new WidgetStatsAggregate();
+
+    // Fora do singleton só nos testes, que gravam num diretório temporário
+    WidgetMatchStore(File file) {
+        this.file = file;
+    }
+
+    public static synchronized WidgetMatchStore getInstance(Context context) {
+        if (instance == null) {
+            WidgetMatchStore store = new WidgetMatchStore(WidgetDataProvider.getSnapshotFile(context));
+            // Partidas atuais; a migração do formato antigo, se necessária, roda aqui sob o
+            // lock da classe, então nunca concorre com outra gravação da fotografia
+            store.load(WidgetDataProvider.readOrMigrate(context));
+            instance = store;
+        }
+        return instance;
+    }
+
+    void load(WidgetSnapshotFile.Contents current) {
+        // O escritor trabalha com objetos (upsert por id); a conversão acontece só aqui
+        MatchTable table = current.matches;
+        for (int row = 0; row < table.size(); row++) {
+            MatchData match = table.decode(row);
+            matches.put(match.id, match);
+        }
+        revision = current.revision;
+        if (current.stats != null && current.stats.totalMatches == matches.size()) {
+            stats = current.stats;
+        } else {
+            // Agregado ausente ou de outra revisão: reconstrução completa
+            Log.d(TAG, "Reconstruindo agregado de estatísticas (revisão " + revision + ")");
+            long start = WidgetMetrics.start();
+            stats = WidgetStatsAggregate.rebuild(new ArrayList<>(matches.values()));
+            WidgetMetrics.Timer.STATS.record(start);
+        }
+    }
+
+    // Estado atual como fotografia em memória (quando o arquivo ainda não foi gravado)
+    synchronized WidgetSnapshotFile.Contents toContents() {
+        MatchTable table = MatchTable.of(new ArrayList<>(matches.values()));
+        return new WidgetSnapshotFile.Contents(revision, table, WidgetStatsAggregate.rebuild(table));
+    }
+
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    public synchronized int size() {
+        return matches.size();
+    }
+
+    // Inserir ou substituir (false se a revisão estiver desatualizada)
+    public synchronized boolean upsert(List<MatchData> changed, long newRevision)
+            throws IOException {
+        if (newRevision <= revision) {
+            Log.w(TAG, "Upsert ignorado: revisão " + newRevision + " <= " + revision);
+            return false;
+        }
+        for (MatchData match : changed) {
+            put(match);
+        }
+        persist(newRevision);
+        return true;
+    }
+
+    // Remover por id (false se a revisão estiver desatualizada)
+    public synchronized boolean delete(List<String> ids, long newRevision) throws IOException {
+        if (newRevision <= revision) {
+            Log.w(TAG, "Delete ignorado: revisão " + newRevision + " <= " + revision);
+            return false;
+        }
+        for (String id : ids) {
+            MatchData removed = matches.remove(id);
+            if (removed != null) {
+                stats.remove(removed);
+            }
+        }
+        persist(newRevision);
+        return true;
+    }
+
+    // Carga completa é autoritativa: aplicada mesmo com revisão antiga
+    public synchronized void replaceAll(List<MatchData> all, long newRevision)
+            throws IOException {
+        matches.clear();
+        stats = new WidgetStatsAggregate();
+        for (MatchData match : all) {
+            put(match);
+        }
+        persist(Math.max(newRevision, revision + 1));
+    }
+
+    // Recalcular kickoffAt após troca de fuso, na mesma revisão (false se nada mudou)
+    public synchronized boolean rezone() throws IOException {
+        boolean changed = false;
+        for (MatchData match : matches.values()) {
+            long kickoffAt = KickoffTime.parse(match.matchDate, match.matchTime);
+            if (kickoffAt != match.kickoffAt) {
+                match.kickoffAt = kickoffAt;
+                changed = true;
+            }
+        }
+        if (changed) {
+            persist(revision);
+        }
+        return changed;
+    }
+
+    // Atualização O(1) do agregado: retira a versão anterior da partida e soma a nova
+    private void put(MatchData match) {
+        MatchData previous = matches.put(match.id, match);
+        if (previous != null) {
+            stats.remove(previous);
+        }
+        stats.add(match);
+    }
+
+    private void persist(long newRevision) throws IOException {
+        boolean traced = WidgetTrace.begin("WidgetSnapshotFile.write", newRevision);
+        try {
+            WidgetSnapshotFile.write(file, newRevision, new ArrayList<>(matches.values()), stats);
+        } finally {
+            WidgetTrace.end(traced);
+        }
+        revision = newRevision;
+    }
+}
@@ -0,0 +1,224 @@
+package com.goalscanpro.app.widget;
+
+import android.util.Log;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Contadores e histogramas de latência sem lock nem alocação (baldes logarítmicos em µs)
+public final class WidgetMetrics {
+
+    static final String TAG = "WidgetMetrics";
+
+    // Etapas cronometradas
+    public enum Timer {
+        SYNC("sync"),
+        PARSE("parse"),
+        LOAD("load"),
+        STATS("stats"),
+        UPCOMING("upcoming"),
+        RENDER_BANK("render.bank"),
+        RENDER_UPCOMING("render.upcoming"),
+        RENDER_RESULTS("render.results"),
+        RENDER_STATS("render.stats");
+
+        final String label;
+        final Histogram histogram = new Histogram();
+
+        Timer(String label) {
+            this.label = label;
+        }
+
+        // Duração desde startNanos (valor de WidgetMetrics.start())
+        public void record(long startNanos) {
+            histogram.record((System.nanoTime() - startNanos) / 1000);
+        }
+    }
+
+    // Eventos contados
+    public enum Counter {
+        SYNC_ERRORS("sync.errors"),
+        RENDER_ERRORS("render.errors"),
+        RENDER_REJECTED("render.rejected"),
+        RENDER_STALE("render.stale"),
+        BROADCAST_EXPIRED("broadcast.expired");
+
+        final String label;
+        final AtomicLong value = new AtomicLong();
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        public void increment() {
+            value.incrementAndGet();
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+
+    private static volatile long since = System.currentTimeMillis();
+
+    private WidgetMetrics() {
+    }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    // Início da janela atual de medição (epoch millis)
+    public static long getSince() {
+        return since;
+    }
+
+    public static void reset() {
+        for (Timer timer : Timer.values()) {
+            timer.histogram.reset();
+        }
+        for (Counter counter : Counter.values()) {
+            counter.value.set(0);
+        }
+        since = System.currentTimeMillis();
+    }
+
+    // Uma linha por etapa com dados e uma com os contadores; ex.: "render.bank n=12 p50=3.1ms ..."
+    public static void dump() {
+        for (Timer timer : Timer.values()) {
+            Summary summary = timer.histogram.summary();
+            if (summary.count > 0) {
+                Log.i(TAG, timer.label + " " + summary);
+            }
+        }
+        StringBuilder counters = new StringBuilder("counters");
+        for (Counter counter : Counter.values()) {
+            counters.append(' ').append(counter.label).append('=').append(counter.get());
+        }
+        Log.i(TAG, counters.toString());
+    }
+
+    public static Summary summary(Timer timer) {
+        return timer.histogram.summary();
+    }
+
+    public static String label(Timer timer) {
+        return timer.label;
+    }
+
+    public static String label(Counter counter) {
+        return counter.label;
+    }
+
+    // Resumo de um histograma (durações em ms)
+    public static final class Summary {
+        public final long count;
+        public final double meanMs;
+        public final double p50Ms;
+        public final double p90Ms;
+        public final double p99Ms;
+        public final double maxMs;
+
+        Summary(long count, double meanMs, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+            this.count = count;
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "n=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                count, meanMs, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+    }
+
+    // Histograma de durações em microssegundos
+    static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // Até 2^40 µs (~12 dias); acima disso cai no último balde
+        private static final int BUCKETS = (40 + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long micros) {
+            if (micros < 0) {
+                micros = 0;
+            }
+            buckets.incrementAndGet(bucketOf(micros));
+            count.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            long max = maxMicros.get();
+            while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+                max = maxMicros.get();
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            totalMicros.set(0);
+            maxMicros.set(0);
+        }
+
+        // Leitura não atômica entre baldes: suficiente para diagnóstico
+        Summary summary() {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return new Summary(0, 0, 0, 0, 0, 0);
+            }
+            long max = maxMicros.get();
+            return new Summary(total, totalMicros.get() / (double) count.get() / 1000,
+                percentile(counts, total, 0.50, max), percentile(counts, total, 0.90, max),
+                percentile(counts, total, 0.99, max), max / 1000.0);
+        }
+
+        // Limite superior do balde que contém o percentil, sem passar do máximo observado
+        private static double percentile(long[] counts, long total, double quantile, long max) {
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max) / 1000.0;
+                }
+            }
+            return max / 1000.0;
+        }
+
+        // 0..3 µs têm balde próprio; acima, potência de 2 mais os 2 bits seguintes
+        static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            int bucket = (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+            return Math.min(bucket, BUCKETS - 1);
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            long base = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+            return base + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.goalscanpro.app.widget;
+
+import android.appwidget.AppWidgetManager;
+import java.util.HashMap;
+import java.util.Map;
+
+// Último fingerprint enviado por appWidgetId, para pular updateAppWidget sem mudança
+public final class WidgetPushCache {
+
+    private static final Map<Integer, Long> lastFingerprints = new HashMap<>();
+    private static long hitCount;
+    private static long missCount;
+
+    private WidgetPushCache() {
+    }
+
+    // Enviar as views só se o fingerprint mudou (true se enviou)
+    static boolean pushIfChanged(AppWidgetManager appWidgetManager, int appWidgetId,
+                                 FingerprintedViews views) {
+        long fingerprint = views.fingerprint();
+        synchronized (WidgetPushCache.class) {
+            Long previous = lastFingerprints.get(appWidgetId);
+            if (previous != null && previous == fingerprint) {
+                hitCount++;
+                return false;
+            }
+            missCount++;
+        }
+
+        boolean traced = WidgetTrace.begin("AppWidgetManager.updateAppWidget");
+        try {
+            appWidgetManager.updateAppWidget(appWidgetId, views.views);
+        } finally {
+            WidgetTrace.end(traced);
+        }
+
+        synchronized (WidgetPushCache.class) {
+            lastFingerprints.put(appWidgetId, fingerprint);
+        }
+        return true;
+    }
+
+    // Widgets removidos da tela inicial
+    static synchronized void forget(int[] appWidgetIds) {
+        for (int appWidgetId : appWidgetIds) {
+            lastFingerprints.remove(appWidgetId);
+        }
+    }
+
+    // Envios evitados (conteúdo inalterado)
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    // Envios realizados
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+}
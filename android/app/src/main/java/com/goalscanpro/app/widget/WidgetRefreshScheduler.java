@@ -0,0 +1,144 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+// Agrupa pedidos de atualização dos widgets (janela curta com latência máxima)
+public final class WidgetRefreshScheduler {
+
+    private static final String TAG = "WidgetRefreshScheduler";
+
+    public static final long DEFAULT_WINDOW_MS = 250;
+    public static final long DEFAULT_MAX_LATENCY_MS = 1000;
+
+    private static WidgetRefreshScheduler instance;
+
+    // Relógio dos prazos (uptimeMillis no app, o mesmo do Handler.postAtTime)
+    interface Clock {
+        long now();
+    }
+
+    private final Context context;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable dispatch = this::dispatch;
+    private final Debounce debounce = new Debounce(SystemClock::uptimeMillis);
+
+    // Contadores
+    private long requestedCount;
+    private long mergedCount;
+    private long dispatchedCount;
+
+    private WidgetRefreshScheduler(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized WidgetRefreshScheduler getInstance(Context context) {
+        if (instance == null) {
+            instance = new WidgetRefreshScheduler(context);
+        }
+        return instance;
+    }
+
+    // Janela e latência máxima em ms; janela 0 desliga o agrupamento
+    public synchronized void configure(long windowMs, long maxLatencyMs) {
+        debounce.configure(windowMs, maxLatencyMs);
+    }
+
+    // Pedir uma atualização de todos os widgets
+    public synchronized void requestRefresh() {
+        requestedCount++;
+        if (debounce.isPending()) {
+            mergedCount++;
+            handler.removeCallbacks(dispatch);
+        }
+        handler.postAtTime(dispatch, debounce.request());
+    }
+
+    private void dispatch() {
+        synchronized (this) {
+            if (!debounce.fire()) {
+                return;
+            }
+            dispatchedCount++;
+        }
+        Log.d(TAG, "Disparando atualização dos widgets");
+        boolean traced = WidgetTrace.begin("sendBroadcast WIDGET_UPDATE");
+        try {
+            context.sendBroadcast(new Intent(WidgetUpdateReceiver.ACTION_UPDATE_WIDGETS)
+                .setPackage(context.getPackageName()));
+        } finally {
+            WidgetTrace.end(traced);
+        }
+    }
+
+    public synchronized long getRequestedCount() {
+        return requestedCount;
+    }
+
+    // Pedidos absorvidos por uma atualização já agendada
+    public synchronized long getMergedCount() {
+        return mergedCount;
+    }
+
+    public synchronized long getDispatchedCount() {
+        return dispatchedCount;
+    }
+
+    public synchronized long getWindowMs() {
+        return debounce.windowMs;
+    }
+
+    public synchronized long getMaxLatencyMs() {
+        return debounce.maxLatencyMs;
+    }
+
+    // Prazos da rajada atual, sem Handler nem relógio do sistema (sincronizado por quem usa)
+    static final class Debounce {
+        private final Clock clock;
+        long windowMs = DEFAULT_WINDOW_MS;
+        long maxLatencyMs = DEFAULT_MAX_LATENCY_MS;
+        private boolean pending;
+        private long firstRequestAt;
+
+        Debounce(Clock clock) {
+            this.clock = clock;
+        }
+
+        void configure(long windowMs, long maxLatencyMs) {
+            this.windowMs = Math.max(0, windowMs);
+            this.maxLatencyMs = Math.max(this.windowMs, maxLatencyMs);
+        }
+
+        boolean isPending() {
+            return pending;
+        }
+
+        // Registra um pedido e devolve o instante de disparo da rajada
+        long request() {
+            long now = clock.now();
+            if (!pending) {
+                pending = true;
+                firstRequestAt = now;
+            }
+            return deadline(now, firstRequestAt, windowMs, maxLatencyMs);
+        }
+
+        // Encerra a rajada; false se ela já tinha sido disparada
+        boolean fire() {
+            if (!pending) {
+                return false;
+            }
+            pending = false;
+            return true;
+        }
+
+        // Janela contada do último pedido, limitada pela latência máxima desde o primeiro
+        static long deadline(long now, long firstRequestAt, long windowMs, long maxLatencyMs) {
+            return Math.min(now + windowMs, firstRequestAt + maxLatencyMs);
+        }
+    }
+}
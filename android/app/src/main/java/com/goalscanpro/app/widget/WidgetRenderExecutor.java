@@ -0,0 +1,261 @@
+package com.goalscanpro.app.widget;
+
+import android.appwidget.AppWidgetManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Carga e renderização fora da thread principal, com goAsync() e finish() sempre no prazo
+public final class WidgetRenderExecutor {
+
+    private static final String TAG = "WidgetRenderExecutor";
+
+    // goAsync dá cerca de 10 s a um broadcast; o restante é folga para o finish()
+    private static final long BROADCAST_BUDGET_MS = 9000;
+    // Sem fotografia nova até aqui, renderiza a última válida
+    private static final long FALLBACK_AFTER_MS = 6000;
+    private static final int RENDER_THREADS = 2;
+    private static final int MAX_QUEUED_RENDERS = 64;
+
+    interface Renderer {
+        void render(Context context, AppWidgetManager appWidgetManager, int appWidgetId,
+                    WidgetSnapshot snapshot);
+    }
+
+    // Instâncias de um mesmo provider, a função que as renderiza e onde medir o tempo
+    static final class Batch {
+        final WidgetMetrics.Timer timer;
+        final Renderer renderer;
+        final int[] appWidgetIds;
+
+        Batch(WidgetMetrics.Timer timer, Renderer renderer, int[] appWidgetIds) {
+            this.timer = timer;
+            this.renderer = renderer;
+            this.appWidgetIds = appWidgetIds;
+        }
+    }
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(
+        runnable -> new Thread(runnable, "WidgetSnapshotLoader"));
+    private static final ThreadPoolExecutor renderers = createRenderPool();
+
+    // Última fotografia carregada com sucesso neste processo (fallback quando a carga atrasa)
+    private static volatile WidgetSnapshot lastGoodSnapshot;
+
+    private WidgetRenderExecutor() {
+    }
+
+    private static ThreadPoolExecutor createRenderPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS,
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_RENDERS),
+            runnable -> new Thread(runnable, "WidgetRender-" + threadCount.incrementAndGet()));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Chamar no onReceive/onUpdate do receiver, que retorna na hora
+    static void render(BroadcastReceiver receiver, Context context, Batch... batches) {
+        render(receiver, context, false, batches);
+    }
+
+    // zoneChanged: recalcula os horários gravados no novo fuso antes da carga
+    static void render(BroadcastReceiver receiver, Context context, boolean zoneChanged,
+                       Batch... batches) {
+        // onUpdate dos providers pode ser a primeira coisa a rodar no processo
+        WidgetTrace.init(context);
+        new Update(receiver.goAsync(), context.getApplicationContext(), zoneChanged, batches)
+            .start();
+    }
+
+    // Roda na thread de carga: a fotografia lida em seguida já tem os horários novos
+    private static void rezone(Context context) {
+        try {
+            if (WidgetMatchStore.getInstance(context).rezone()) {
+                Log.d(TAG, "Horários de início recalculados para " + KickoffTime.zone().getID());
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Erro ao recalcular horários de início", e);
+        }
+    }
+
+    // Uma atualização em andamento (um broadcast)
+    private static final class Update {
+        private final BroadcastReceiver.PendingResult pendingResult;
+        private final Context context;
+        private final AppWidgetManager appWidgetManager;
+        private final Batch[] batches;
+        private final boolean zoneChanged;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicBoolean rendering = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final Runnable fallback = this::renderLastGood;
+        private final Runnable expire = this::finish;
+        private volatile WidgetSnapshot rendered;
+        private volatile boolean loadFailed;
+
+        Update(BroadcastReceiver.PendingResult pendingResult, Context context, boolean zoneChanged,
+               Batch[] batches) {
+            this.pendingResult = pendingResult;
+            this.context = context;
+            this.appWidgetManager = AppWidgetManager.getInstance(context);
+            this.zoneChanged = zoneChanged;
+            this.batches = batches;
+        }
+
+        void start() {
+            int total = 0;
+            for (Batch batch : batches) {
+                total += batch.appWidgetIds.length;
+            }
+            if (total == 0) {
+                if (zoneChanged) {
+                    handler.postDelayed(expire, BROADCAST_BUDGET_MS);
+                    loader.execute(() -> {
+                        rezone(context);
+                        finish();
+                    });
+                } else {
+                    finish();
+                }
+                return;
+            }
+            remaining.set(total);
+            handler.postDelayed(fallback, FALLBACK_AFTER_MS);
+            handler.postDelayed(expire, BROADCAST_BUDGET_MS);
+            loader.execute(this::load);
+        }
+
+        private void load() {
+            if (zoneChanged) {
+                rezone(context);
+            }
+            WidgetSnapshot snapshot;
+            boolean traced = WidgetTrace.begin("loadSnapshot");
+            try {
+                snapshot = WidgetDataProvider.loadSnapshot(context);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Erro ao carregar fotografia dos widgets", e);
+                loadFailed = true;
+                if (lastGoodSnapshot == null) {
+                    // Nada para renderizar: não há por que segurar o broadcast até o prazo
+                    finish();
+                } else {
+                    renderLastGood();
+                }
+                return;
+            } finally {
+                WidgetTrace.end(traced);
+            }
+            lastGoodSnapshot = snapshot;
+            Log.d(TAG, "Fotografia carregada (versão " + snapshot.version + ")");
+            // Próxima atualização alinhada ao próximo início de partida / troca de rótulo
+            WidgetAlarmScheduler.schedule(context, snapshot);
+            if (!renderAll(snapshot)) {
+                // Já renderizado com a fotografia antiga: pede outra rodada se os dados mudaram
+                WidgetSnapshot previous = rendered;
+                if (previous != null && previous.version != snapshot.version) {
+                    WidgetRefreshScheduler.getInstance(context).requestRefresh();
+                }
+            }
+        }
+
+        private void renderLastGood() {
+            WidgetSnapshot cached = lastGoodSnapshot;
+            if (cached == null) {
+                // Nenhuma fotografia anterior: a carga ainda está em andamento, segue aguardando
+                return;
+            }
+            if (renderAll(cached)) {
+                WidgetMetrics.Counter.RENDER_STALE.increment();
+                Log.w(TAG, "Fotografia atrasada; exibindo a versão " + cached.version);
+            }
+        }
+
+        // Enfileira uma tarefa por widget; retorna false se esta atualização já foi renderizada
+        private boolean renderAll(WidgetSnapshot snapshot) {
+            if (!rendering.compareAndSet(false, true)) {
+                return false;
+            }
+            rendered = snapshot;
+            handler.removeCallbacks(fallback);
+            for (Batch batch : batches) {
+                for (int appWidgetId : batch.appWidgetIds) {
+                    try {
+                        renderers.execute(() -> renderOne(batch, appWidgetId, snapshot));
+                    } catch (RejectedExecutionException e) {
+                        WidgetMetrics.Counter.RENDER_REJECTED.increment();
+                        Log.w(TAG, "Fila de renderização cheia; widget " + appWidgetId + " ignorado");
+                        taskDone();
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void renderOne(Batch batch, int appWidgetId, WidgetSnapshot snapshot) {
+            boolean traced = false;
+            try {
+                if (!finished.get()) {
+                    // Uma seção por instância: mostra qual widget é o mais lento
+                    traced = WidgetTrace.begin(WidgetMetrics.label(batch.timer), appWidgetId);
+                    long start = WidgetMetrics.start();
+                    batch.renderer.render(context, appWidgetManager, appWidgetId, snapshot);
+                    batch.timer.record(start);
+                }
+            } catch (RuntimeException e) {
+                WidgetMetrics.Counter.RENDER_ERRORS.increment();
+                Log.e(TAG, "Erro ao renderizar widget " + appWidgetId, e);
+            } finally {
+                WidgetTrace.end(traced);
+                taskDone();
+            }
+        }
+
+        private void taskDone() {
+            if (remaining.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            handler.removeCallbacks(fallback);
+            handler.removeCallbacks(expire);
+            WidgetSnapshot shown = rendered;
+            if (shown != null) {
+                WidgetTrace.endRefresh(shown.version);
+            } else if (remaining.get() == 0) {
+                // Nenhum widget na tela: não há o que esperar
+                WidgetTrace.endRefresh(Long.MAX_VALUE);
+            }
+            if (shown == null && loadFailed) {
+                Log.w(TAG, "Fotografia indisponível; widgets mantêm a última renderização");
+            } else if (remaining.get() > 0) {
+                WidgetMetrics.Counter.BROADCAST_EXPIRED.increment();
+                Log.w(TAG, "Prazo do broadcast esgotado com " + remaining.get() + " widget(s) pendente(s)");
+            }
+            Log.d(TAG, "Envios ao launcher: " + WidgetPushCache.getMissCount()
+                + " realizados, " + WidgetPushCache.getHitCount() + " evitados (sem mudança)");
+            if (Log.isLoggable(WidgetMetrics.TAG, Log.DEBUG)) {
+                // adb shell setprop log.tag.WidgetMetrics DEBUG
+                WidgetMetrics.dump();
+            }
+            pendingResult.finish();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.goalscanpro.app.widget;
+
+import java.util.Collections;
+import java.util.List;
+
+// Fotografia imutável dos dados, montada uma vez por broadcast e compartilhada pelos widgets
+public final class WidgetSnapshot {
+
+    // Resultados recentes mantidos na fotografia (os layouts exibem só os primeiros)
+    public static final int RECENT_RESULTS_LIMIT = 5;
+
+    // Versão dos dados sincronizados (incrementada a cada syncData)
+    public final long version;
+    // Momento em que a fotografia foi montada (referência para "partidas futuras")
+    public final long builtAt;
+
+    private final MatchTable matches;
+    private final BankData bank;
+    private final KickoffIndex kickoffs;
+    // Posição no índice da primeira partida que ainda não começou
+    private final int firstUpcoming;
+    private final List<MatchData> recentResults;
+    private final StatsData stats;
+    private final BankHistory.Change dailyBankChange;
+
+    WidgetSnapshot(long version, long builtAt, MatchTable matches,
+                   BankData bank, WidgetStatsAggregate stats,
+                   KickoffIndex kickoffs, WidgetSnapshotFile.Settled settled,
+                   BankHistory.Change dailyBankChange) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.matches = matches;
+        this.bank = bank;
+        this.kickoffs = kickoffs;
+        this.firstUpcoming = kickoffs.firstAfter(builtAt);
+        // Primeiras posições da ordem gravada; nada do histórico é varrido aqui
+        this.recentResults = Collections.unmodifiableList(settled.page(0, RECENT_RESULTS_LIMIT));
+        // Agregado mantido incrementalmente: só aplica winRate/ROI sobre a banca atual
+        this.stats = stats.toStats(bank);
+        this.dailyBankChange = dailyBankChange;
+    }
+
+    // Partidas em colunas; monte objetos só para as linhas exibidas
+    public MatchTable getMatches() {
+        return matches;
+    }
+
+    // Pode ser null quando a banca ainda não foi sincronizada
+    public BankData getBank() {
+        return bank;
+    }
+
+    // Até limit partidas futuras (a partir de builtAt), da mais próxima para a mais distante
+    public List<MatchData> getUpcomingMatches(int limit) {
+        return kickoffs.next(matches, builtAt, limit);
+    }
+
+    public int getUpcomingCount() {
+        return kickoffs.size() - firstUpcoming;
+    }
+
+    KickoffIndex getKickoffIndex() {
+        return kickoffs;
+    }
+
+    // Até RECENT_RESULTS_LIMIT apostas resolvidas; vitórias/derrotas vêm do agregado em getStats()
+    public List<MatchData> getRecentResults() {
+        return recentResults;
+    }
+
+    public StatsData getStats() {
+        return stats;
+    }
+
+    // Variação do saldo desde a meia-noite (zero quando não há histórico)
+    public BankHistory.Change getDailyBankChange() {
+        return dailyBankChange;
+    }
+}
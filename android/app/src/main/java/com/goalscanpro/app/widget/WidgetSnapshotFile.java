@@ -0,0 +1,446 @@
+package com.goalscanpro.app.widget;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Fotografia binária das partidas (little-endian), mapeada somente-leitura pelos widgets:
+// cabeçalho + agregado, colunas, apostas resolvidas (mais recente primeiro), strings e times
+public final class WidgetSnapshotFile {
+
+    public static final String FILE_NAME = "widget_snapshot.bin";
+
+    private static final int MAGIC = 0x53575347; // "GSWS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 56;
+    // Agregado ausente/inválido: o leitor reconstrói a partir das partidas
+    private static final long NO_STATS = -1;
+
+    private WidgetSnapshotFile() {
+    }
+
+    // Conteúdo decodificado do arquivo
+    public static final class Contents {
+        public final long revision;
+        public final MatchTable matches;
+        // Agregado persistido; null quando não corresponde à revisão do arquivo
+        final WidgetStatsAggregate stats;
+        // Partidas ordenadas por horário de início
+        final KickoffIndex kickoffs;
+        // Apostas resolvidas, da mais recente para a mais antiga
+        final Settled settled;
+
+        Contents(long revision, MatchTable matches, WidgetStatsAggregate stats,
+                 KickoffIndex kickoffs, Settled settled) {
+            this.revision = revision;
+            this.matches = matches;
+            this.stats = stats;
+            this.kickoffs = kickoffs;
+            this.settled = settled;
+        }
+
+        // Fotografia só em memória (sem arquivo gravado): índices calculados a partir da tabela
+        Contents(long revision, MatchTable matches, WidgetStatsAggregate stats) {
+            this(revision, matches, stats, KickoffIndex.build(matches),
+                new Settled(matches, IntBuffer.wrap(RecentResults.order(matches))));
+        }
+    }
+
+    // Gravação atômica (temporário + rename): um widget lendo em paralelo nunca vê o arquivo pela metade
+    static void write(File file, long revision, List<MatchData> matches,
+                      WidgetStatsAggregate stats) throws IOException {
+        int count = matches.size();
+
+        // Tabela de strings deduplicada (datas se repetem muito) e dicionário de times
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        TeamNames teams = new TeamNames();
+        int[] ids = new int[count];
+        int[] homeTeams = new int[count];
+        int[] awayTeams = new int[count];
+        int[] dates = new int[count];
+        int[] times = new int[count];
+        for (int i = 0; i < count; i++) {
+            MatchData match = matches.get(i);
+            ids[i] = intern(match.id, stringIds, strings);
+            homeTeams[i] = teams.intern(match.homeTeam);
+            awayTeams[i] = teams.intern(match.awayTeam);
+            dates[i] = intern(match.matchDate, stringIds, strings);
+            times[i] = intern(match.matchTime, stringIds, strings);
+        }
+        int stringBytes = 0;
+        for (byte[] bytes : strings) {
+            stringBytes += 4 + bytes.length;
+        }
+        byte[][] teamNames = new byte[teams.size()][];
+        int teamBytes = 0;
+        for (int id = 0; id < teamNames.length; id++) {
+            teamNames[id] = teams.name(id).getBytes(StandardCharsets.UTF_8);
+            teamBytes += 4 + teamNames[id].length;
+        }
+
+        // Ordenação feita aqui, uma vez por gravação; os leitores só fazem busca binária
+        KickoffIndex kickoffs = KickoffIndex.build(matches);
+        int[] settledRows = RecentResults.order(matches);
+
+        int size = HEADER_SIZE
+            + count * (5 * 8 + 3 * 8 + 6 * 4 + 1)
+            + 4 + settledRows.length * 4
+            + 4 + stringBytes
+            + 4 + teamBytes;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(revision);
+        buffer.putInt(count);
+        buffer.putInt(size - 4 - teamBytes); // início da seção de times
+        if (stats != null) {
+            buffer.putLong(revision);
+            buffer.putInt(stats.totalMatches);
+            buffer.putInt(stats.positiveEVCount);
+            buffer.putInt(stats.wonCount);
+            buffer.putInt(stats.lostCount);
+            buffer.putDouble(stats.totalProfit());
+        } else {
+            buffer.putLong(NO_STATS);
+            buffer.put(new byte[4 * 4 + 8]);
+        }
+
+        for (MatchData match : matches) {
+            buffer.putDouble(match.odd);
+        }
+        for (MatchData match : matches) {
+            buffer.putDouble(match.probability);
+        }
+        for (MatchData match : matches) {
+            buffer.putDouble(match.ev);
+        }
+        for (MatchData match : matches) {
+            buffer.putDouble(match.betAmount);
+        }
+        for (MatchData match : matches) {
+            buffer.putDouble(match.potentialReturn);
+        }
+        for (MatchData match : matches) {
+            buffer.putLong(match.timestamp);
+        }
+        for (MatchData match : matches) {
+            buffer.putLong(match.resultAt != null ? match.resultAt : MatchTable.NO_RESULT_AT);
+        }
+        for (MatchData match : matches) {
+            buffer.putLong(match.kickoffAt);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(ids[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(homeTeams[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(awayTeams[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(dates[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(times[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(kickoffs.rowAt(i));
+        }
+        for (MatchData match : matches) {
+            buffer.put(MatchTable.encodeStatus(match.betStatus));
+        }
+
+        buffer.putInt(settledRows.length);
+        for (int row : settledRows) {
+            buffer.putInt(row);
+        }
+
+        buffer.putInt(strings.size());
+        for (byte[] bytes : strings) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        buffer.putInt(teamNames.length);
+        for (byte[] bytes : teamNames) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(buffer.array(), 0, buffer.position());
+            out.getFD().sync();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Falha ao substituir " + file.getName());
+        }
+    }
+
+    // Colunas como views do arquivo mapeado, sem cópia (null se o arquivo não existe)
+    public static Contents read(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        ByteBuffer buffer = map(file);
+        Layout layout = new Layout(buffer);
+        int count = layout.count;
+
+        WidgetStatsAggregate stats = null;
+        // O agregado só é confiável se foi gravado para esta mesma revisão
+        if (buffer.getLong(24) == layout.revision) {
+            stats = new WidgetStatsAggregate();
+            stats.totalMatches = buffer.getInt(32);
+            stats.positiveEVCount = buffer.getInt(36);
+            stats.wonCount = buffer.getInt(40);
+            stats.lostCount = buffer.getInt(44);
+            stats.profitCents = WidgetStatsAggregate.toCents(buffer.getDouble(48));
+        }
+
+        MatchTable matches = readTable(buffer, layout);
+        KickoffIndex kickoffs = new KickoffIndex(matches.kickoffAt,
+            ints(buffer, layout.orderOffset, count));
+        return new Contents(layout.revision, matches, stats, kickoffs, settled(buffer, layout, matches));
+    }
+
+    // Colunas numéricas como views do arquivo; strings pela tabela (uma instância por valor)
+    private static MatchTable readTable(ByteBuffer buffer, Layout layout) {
+        int count = layout.count;
+        StringTable strings = new StringTable(buffer, layout.stringsOffset);
+
+        // Os ids das colunas de times já são as posições no dicionário gravado
+        StringTable teamTable = new StringTable(buffer, layout.teamsOffset);
+        String[] teams = new String[teamTable.size()];
+        for (int id = 0; id < teams.length; id++) {
+            teams[id] = teamTable.get(id);
+        }
+
+        // Id, data e hora: só as referências; o texto é decodificado quando a linha for montada
+        return new MatchTable(count,
+            doubles(buffer, layout.oddOffset, count),
+            doubles(buffer, layout.probabilityOffset, count),
+            doubles(buffer, layout.evOffset, count),
+            doubles(buffer, layout.betAmountOffset, count),
+            doubles(buffer, layout.potentialReturnOffset, count),
+            longs(buffer, layout.timestampOffset, count),
+            longs(buffer, layout.resultAtOffset, count),
+            longs(buffer, layout.kickoffOffset, count),
+            section(buffer, layout.statusOffset, count),
+            ints(buffer, layout.homeOffset, count), ints(buffer, layout.awayOffset, count),
+            teams, ints(buffer, layout.idOffset, count), ints(buffer, layout.dateOffset, count),
+            ints(buffer, layout.timeOffset, count), strings);
+    }
+
+    private static DoubleBuffer doubles(ByteBuffer buffer, int offset, int count) {
+        return section(buffer, offset, count * 8).asDoubleBuffer();
+    }
+
+    private static LongBuffer longs(ByteBuffer buffer, int offset, int count) {
+        return section(buffer, offset, count * 8).asLongBuffer();
+    }
+
+    private static IntBuffer ints(ByteBuffer buffer, int offset, int count) {
+        return section(buffer, offset, count * 4).asIntBuffer();
+    }
+
+    // Trecho [offset, offset + length) do arquivo; slice() volta para big-endian, então a ordem
+    // é reaplicada antes de criar a view tipada
+    private static ByteBuffer section(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer section = buffer.duplicate();
+        section.limit(offset + length);
+        section.position(offset);
+        return section.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Apostas resolvidas, da mais recente para a mais antiga, lidas em páginas
+    static final class Settled {
+        // Total de apostas resolvidas no arquivo lido
+        final int total;
+        private final MatchTable matches;
+        private final IntBuffer rows;
+
+        private Settled(MatchTable matches, IntBuffer rows) {
+            this.matches = matches;
+            this.rows = rows;
+            total = rows.limit();
+        }
+
+        // Apostas resolvidas nas posições [start, start + limit)
+        List<MatchData> page(int start, int limit) {
+            int end = Math.min(total, start + limit);
+            if (start >= end) {
+                return new ArrayList<>();
+            }
+            List<MatchData> page = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                page.add(matches.decode(rows.get(i)));
+            }
+            return page;
+        }
+    }
+
+    // Só a seção de resolvidas, para paginar (null se o arquivo não existe)
+    static Settled readSettled(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        ByteBuffer buffer = map(file);
+        Layout layout = new Layout(buffer);
+        return settled(buffer, layout, readTable(buffer, layout));
+    }
+
+    // Ordem gravada das apostas resolvidas, como view do arquivo
+    private static Settled settled(ByteBuffer buffer, Layout layout, MatchTable matches) {
+        return new Settled(matches,
+            ints(buffer, layout.settledOffset + 4, buffer.getInt(layout.settledOffset)));
+    }
+
+    // Só a revisão do cabeçalho (0 se o arquivo não existe)
+    public static long readRevision(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        byte[] header = new byte[16];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.readFully(header);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Arquivo de snapshot inválido");
+        }
+        return buffer.getLong(8);
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        MappedByteBuffer mapped;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Posição de cada coluna no arquivo mapeado
+    private static final class Layout {
+        final long revision;
+        final int count;
+        final int oddOffset;
+        final int probabilityOffset;
+        final int evOffset;
+        final int betAmountOffset;
+        final int potentialReturnOffset;
+        final int timestampOffset;
+        final int resultAtOffset;
+        final int kickoffOffset;
+        final int idOffset;
+        final int homeOffset;
+        final int awayOffset;
+        final int dateOffset;
+        final int timeOffset;
+        final int orderOffset;
+        final int statusOffset;
+        final int settledOffset;
+        final int stringsOffset;
+        final int teamsOffset;
+
+        Layout(ByteBuffer buffer) throws IOException {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Arquivo de snapshot inválido");
+            }
+            int format = buffer.getInt(4);
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Formato de snapshot não suportado: " + format);
+            }
+            revision = buffer.getLong(8);
+            count = buffer.getInt(16);
+
+            oddOffset = HEADER_SIZE;
+            probabilityOffset = oddOffset + count * 8;
+            evOffset = probabilityOffset + count * 8;
+            betAmountOffset = evOffset + count * 8;
+            potentialReturnOffset = betAmountOffset + count * 8;
+            timestampOffset = potentialReturnOffset + count * 8;
+            resultAtOffset = timestampOffset + count * 8;
+            kickoffOffset = resultAtOffset + count * 8;
+            idOffset = kickoffOffset + count * 8;
+            homeOffset = idOffset + count * 4;
+            awayOffset = homeOffset + count * 4;
+            dateOffset = awayOffset + count * 4;
+            timeOffset = dateOffset + count * 4;
+            orderOffset = timeOffset + count * 4;
+            statusOffset = orderOffset + count * 4;
+            settledOffset = statusOffset + count;
+            stringsOffset = settledOffset + 4 + buffer.getInt(settledOffset) * 4;
+            teamsOffset = buffer.getInt(20);
+        }
+    }
+
+    // Strings decodificadas sob demanda; sincronizada porque as threads de renderização leem
+    private static final class StringTable implements MatchTable.Strings {
+        private final ByteBuffer buffer;
+        private final int[] offsets;
+        private final String[] decoded;
+        private byte[] scratch = new byte[64];
+
+        StringTable(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            int stringCount = buffer.getInt(offset);
+            offsets = new int[stringCount];
+            decoded = new String[stringCount];
+            int position = offset + 4;
+            for (int i = 0; i < stringCount; i++) {
+                offsets[i] = position;
+                position += 4 + buffer.getInt(position);
+            }
+        }
+
+        int size() {
+            return offsets.length;
+        }
+
+        @Override
+        public synchronized String get(int id) {
+            String value = decoded[id];
+            if (value == null) {
+                int length = buffer.getInt(offsets[id]);
+                if (scratch.length < length) {
+                    scratch = new byte[length];
+                }
+                ByteBuffer cursor = buffer.duplicate();
+                cursor.position(offsets[id] + 4);
+                cursor.get(scratch, 0, length);
+                value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                decoded[id] = value;
+            }
+            return value;
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> stringIds, List<byte[]> strings) {
+        String key = value != null ? value : "";
+        Integer id = stringIds.get(key);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(key, id);
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+}
@@ -0,0 +1,87 @@
+package com.goalscanpro.app.widget;
+
+import java.util.List;
+
+// Agregado do QuickStatsWidget mantido em O(1) por partida; lucro em centavos inteiros
+final class WidgetStatsAggregate {
+
+    int totalMatches;
+    int positiveEVCount;
+    int wonCount;
+    int lostCount;
+    long profitCents;
+
+    // Reconstrução completa (carga inicial ou agregado persistido inválido)
+    static WidgetStatsAggregate rebuild(List<MatchData> matches) {
+        WidgetStatsAggregate aggregate = new WidgetStatsAggregate();
+        for (MatchData match : matches) {
+            aggregate.add(match);
+        }
+        return aggregate;
+    }
+
+    // Mesma reconstrução sobre as colunas da fotografia
+    static WidgetStatsAggregate rebuild(MatchTable matches) {
+        WidgetStatsAggregate aggregate = new WidgetStatsAggregate();
+        for (int row = 0; row < matches.size; row++) {
+            aggregate.apply(matches.ev.get(row), matches.status.get(row),
+                matches.betAmount.get(row), matches.potentialReturn.get(row), 1);
+        }
+        return aggregate;
+    }
+
+    void add(MatchData match) {
+        apply(match.ev, MatchTable.encodeStatus(match.betStatus), match.betAmount,
+            match.potentialReturn, 1);
+    }
+
+    void remove(MatchData match) {
+        apply(match.ev, MatchTable.encodeStatus(match.betStatus), match.betAmount,
+            match.potentialReturn, -1);
+    }
+
+    private void apply(double ev, byte status, double betAmount, double potentialReturn, int sign) {
+        totalMatches += sign;
+        if (ev > 0) {
+            positiveEVCount += sign;
+        }
+        if (status == MatchTable.STATUS_WON) {
+            wonCount += sign;
+            profitCents += sign * toCents(potentialReturn - betAmount);
+        } else if (status == MatchTable.STATUS_LOST) {
+            lostCount += sign;
+            profitCents -= sign * toCents(betAmount);
+        }
+    }
+
+    // Mesmo arredondamento na inserção e na remoção: o ajuste é exatamente desfeito
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    double totalProfit() {
+        return profitCents / 100.0;
+    }
+
+    StatsData toStats(BankData bank) {
+        StatsData stats = new StatsData();
+        stats.totalMatches = totalMatches;
+        stats.positiveEVCount = positiveEVCount;
+        stats.wonCount = wonCount;
+        stats.lostCount = lostCount;
+        stats.totalProfit = totalProfit();
+
+        int totalBets = wonCount + lostCount;
+        if (totalBets > 0) {
+            stats.winRate = (wonCount * 100.0) / totalBets;
+        }
+
+        // Calcular ROI (assumindo banca inicial como referência)
+        if (bank != null && bank.totalBank > 0) {
+            // ROI aproximado baseado no lucro total
+            stats.roi = (totalProfit() * 100.0) / bank.totalBank;
+        }
+
+        return stats;
+    }
+}
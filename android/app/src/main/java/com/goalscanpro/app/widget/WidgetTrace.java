@@ -0,0 +1,106 @@
+package com.goalscanpro.app.widget;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Trace;
+import java.util.ArrayDeque;
+
+// Seções de Trace (Perfetto) da sincronização até a renderização; desligado por padrão
+public final class WidgetTrace {
+
+    static final String REFRESH = "widget.refresh";
+
+    private static final String PREFS_NAME = "goalscan_prefs";
+    private static final String KEY_TRACING = "goalscan_widget_tracing";
+    // Limite de nomes do atrace
+    private static final int MAX_NAME_LENGTH = 127;
+    // Versões com seção assíncrona aberta; as mais antigas são fechadas se a fila encher
+    private static final int MAX_OPEN_REFRESHES = 64;
+
+    private static final ArrayDeque<Long> openRefreshes = new ArrayDeque<>();
+    private static volatile boolean enabled;
+    private static volatile boolean loaded;
+
+    private WidgetTrace() {
+    }
+
+    // Lê a escolha persistida na primeira chamada do processo
+    public static void init(Context context) {
+        if (!loaded) {
+            enabled = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .getBoolean(KEY_TRACING, false);
+            loaded = true;
+        }
+    }
+
+    public static void setEnabled(Context context, boolean value) {
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit()
+            .putBoolean(KEY_TRACING, value).apply();
+        enabled = value;
+        loaded = true;
+        if (!value) {
+            endRefresh(Long.MAX_VALUE);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Ligado e, quando dá para saber (API 29+), com uma captura em andamento
+    private static boolean active() {
+        return enabled && (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || Trace.isEnabled());
+    }
+
+    // O retorno vai para end() num finally, para não desemparelhar as seções
+    public static boolean begin(String name) {
+        if (!active()) {
+            return false;
+        }
+        Trace.beginSection(name);
+        return true;
+    }
+
+    // Seção com identificador (ex.: "render.bank #42"); a string só é montada se ativo
+    public static boolean begin(String name, long id) {
+        if (!active()) {
+            return false;
+        }
+        String section = name + " #" + id;
+        Trace.beginSection(section.length() > MAX_NAME_LENGTH
+            ? section.substring(0, MAX_NAME_LENGTH) : section);
+        return true;
+    }
+
+    public static void end(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    // Início de uma atualização: versão dos dados recém-gravada
+    public static void beginRefresh(long version) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || !active()) {
+            return;
+        }
+        synchronized (openRefreshes) {
+            if (openRefreshes.size() == MAX_OPEN_REFRESHES) {
+                Trace.endAsyncSection(REFRESH, (int) (long) openRefreshes.pollFirst());
+            }
+            openRefreshes.addLast(version);
+            Trace.beginAsyncSection(REFRESH, (int) version);
+        }
+    }
+
+    // Widgets exibindo a versão: fecha as atualizações até ela (rajadas agrupadas fecham juntas)
+    static void endRefresh(long version) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return;
+        }
+        synchronized (openRefreshes) {
+            while (!openRefreshes.isEmpty() && openRefreshes.peekFirst() <= version) {
+                Trace.endAsyncSection(REFRESH, (int) (long) openRefreshes.pollFirst());
+            }
+        }
+    }
+}
@@ -14,39 +14,44 @@ public class WidgetUpdateReceiver extends BroadcastReceiver {
     
     @Override
     public void onReceive(Context context, Intent intent) {
+        WidgetTrace.init(context);
+        boolean traced = WidgetTrace.begin("WidgetUpdateReceiver.onReceive");
+        try {
+            handleUpdate(context, intent);
+        } finally {
+            WidgetTrace.end(traced);
+        }
+    }
+    
+    private void handleUpdate(Context context, Intent intent) {
         String action = intent.getAction();
         
         if (ACTION_UPDATE_WIDGETS.equals(action) || 
-            AppWidgetManager.ACTION_APPWIDGET_UPDATE.equals(action)) {
-            
-            Log.d(TAG, "Atualizando widgets...");
-            
-            AppWidgetManager appWidgetManager = AppWidgetManager.getInstance(context);
+            AppWidgetManager.ACTION_APPWIDGET_UPDATE.equals(action) ||
+            Intent.ACTION_TIME_CHANGED.equals(action) ||
+            Intent.ACTION_TIMEZONE_CHANGED.equals(action)) {
             
-            // Atualizar todos os widgets
-            int[] bankWidgetIds = appWidgetManager.getAppWidgetIds(
-                new ComponentName(context, BankBalanceWidget.class));
-            for (int widgetId : bankWidgetIds) {
-                BankBalanceWidget.updateAppWidget(context, appWidgetManager, widgetId);
+            boolean zoneChanged = Intent.ACTION_TIMEZONE_CHANGED.equals(action);
+            if (zoneChanged) {
+                // Conversões e rótulos de horário passam a usar o novo fuso; os kickoffAt
+                // gravados são recalculados pelo executor antes de carregar a fotografia
+                KickoffTime.resetZone();
             }
             
-            int[] upcomingWidgetIds = appWidgetManager.getAppWidgetIds(
-                new ComponentName(context, UpcomingMatchesWidget.class));
-            for (int widgetId : upcomingWidgetIds) {
-                UpcomingMatchesWidget.updateAppWidget(context, appWidgetManager, widgetId);
-            }
-            
-            int[] resultsWidgetIds = appWidgetManager.getAppWidgetIds(
-                new ComponentName(context, RecentResultsWidget.class));
-            for (int widgetId : resultsWidgetIds) {
-                RecentResultsWidget.updateAppWidget(context, appWidgetManager, widgetId);
-            }
+            AppWidgetManager appWidgetManager = AppWidgetManager.getInstance(context);
+            Log.d(TAG, "Atualizando widgets...");
             
-            int[] statsWidgetIds = appWidgetManager.getAppWidgetIds(
-                new ComponentName(context, QuickStatsWidget.class));
-            for (int widgetId : statsWidgetIds) {
-                QuickStatsWidget.updateAppWidget(context, appWidgetManager, widgetId);
-            }
+            // Uma única fotografia compartilhada por todos os widgets, carregada e renderizada
+            // fora da thread principal; aqui só coletamos as instâncias de cada provider
+            WidgetRenderExecutor.render(this, context, zoneChanged,
+                new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_BANK, BankBalanceWidget::updateAppWidget,
+                    appWidgetManager.getAppWidgetIds(new ComponentName(context, BankBalanceWidget.class))),
+                new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_UPCOMING, UpcomingMatchesWidget::updateAppWidget,
+                    appWidgetManager.getAppWidgetIds(new ComponentName(context, UpcomingMatchesWidget.class))),
+                new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_RESULTS, RecentResultsWidget::updateAppWidget,
+                    appWidgetManager.getAppWidgetIds(new ComponentName(context, RecentResultsWidget.class))),
+                new WidgetRenderExecutor.Batch(WidgetMetrics.Timer.RENDER_STATS, QuickStatsWidget::updateAppWidget,
+                    appWidgetManager.getAppWidgetIds(new ComponentName(context, QuickStatsWidget.class))));
         }
     }
 }
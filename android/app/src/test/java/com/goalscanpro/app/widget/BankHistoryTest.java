@@ -0,0 +1,198 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BankHistoryTest {
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    private static final long T0 = 1717200000000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), BankHistory.FILE_NAME);
+    }
+
+    @Test
+    public void semHistorico() throws IOException {
+        assertSame(BankHistory.NO_CHANGE, BankHistory.readDailyChange(file, 100, T0));
+        BankHistory.Series series = BankHistory.readSeries(file, T0 - HOUR_MS, 100, T0);
+        assertArrayEquals(new long[] {T0}, series.times);
+        assertArrayEquals(new double[] {100}, series.balances, 0);
+    }
+
+    @Test
+    public void saldoRepetidoNaoEGravado() throws IOException {
+        assertTrue(BankHistory.append(file, T0, 100));
+        assertFalse(BankHistory.append(file, T0 + 1, 100));
+        assertTrue(BankHistory.append(file, T0 + 2, 110));
+        assertEquals(2, header(12));
+    }
+
+    @Test
+    public void relogioParaTrasMantemAOrdem() throws IOException {
+        BankHistory.append(file, T0, 100);
+        BankHistory.append(file, T0 - HOUR_MS, 120);
+        BankHistory.Series series = BankHistory.readSeries(file, T0 - 2 * HOUR_MS, 120, T0 + HOUR_MS);
+        assertArrayEquals(new long[] {T0, T0, T0 + HOUR_MS}, series.times);
+    }
+
+    @Test
+    public void bufferCircularDescartaOsMaisAntigos() throws IOException {
+        int total = BankHistory.CAPACITY + 100;
+        for (int i = 0; i < total; i++) {
+            assertTrue(BankHistory.append(file, T0 + i * HOUR_MS, i));
+        }
+        assertEquals(BankHistory.CAPACITY, header(12));
+        assertEquals(100, header(16));
+        assertEquals(24 + BankHistory.CAPACITY * 16L, file.length());
+
+        // Janela desde antes do mais antigo mantido: começa no registro 100
+        BankHistory.Series all = BankHistory.readSeries(file, 0, -1, T0 + total * HOUR_MS);
+        assertEquals(BankHistory.CAPACITY + 1, all.size());
+        assertEquals(100, all.balances[0], 0);
+        assertEquals(T0 + 100 * HOUR_MS, all.times[0]);
+        for (int i = 1; i < BankHistory.CAPACITY; i++) {
+            assertEquals(all.balances[i - 1] + 1, all.balances[i], 0);
+            assertTrue(all.times[i - 1] < all.times[i]);
+        }
+        assertEquals(-1, all.balances[BankHistory.CAPACITY], 0);
+    }
+
+    @Test
+    public void buscaBinariaAtravessaAVolta() throws IOException {
+        int total = BankHistory.CAPACITY + 1000;
+        for (int i = 0; i < total; i++) {
+            BankHistory.append(file, T0 + i * HOUR_MS, i);
+        }
+        ByteBuffer buffer = map();
+        int count = buffer.getInt(12);
+        int head = buffer.getInt(16);
+        // Posição lógica 0 = registro 1000 (os primeiros foram sobrescritos)
+        assertEquals(-1, BankHistory.indexAtOrBefore(buffer, count, head, T0 + 999 * HOUR_MS));
+        assertEquals(0, BankHistory.indexAtOrBefore(buffer, count, head, T0 + 1000 * HOUR_MS));
+        for (int record = 1000; record < total; record += 97) {
+            long at = T0 + record * HOUR_MS;
+            assertEquals(record - 1000, BankHistory.indexAtOrBefore(buffer, count, head, at));
+            assertEquals(record - 1000, BankHistory.indexAtOrBefore(buffer, count, head, at + 1));
+            assertEquals(record - 1001, BankHistory.indexAtOrBefore(buffer, count, head, at - 1));
+        }
+        assertEquals(count - 1, BankHistory.indexAtOrBefore(buffer, count, head, Long.MAX_VALUE));
+
+        // Série dos últimos 10 registros: saldo vigente no início da janela + 9 + atual
+        long now = T0 + total * HOUR_MS;
+        BankHistory.Series series = BankHistory.readSeries(file, now - 10 * HOUR_MS - 1, 0, now);
+        assertEquals(12, series.size());
+        assertEquals(total - 11, series.balances[0], 0);
+        assertEquals(now - 10 * HOUR_MS - 1, series.times[0]);
+    }
+
+    @Test
+    public void variacaoDesdeAMeiaNoite() throws IOException {
+        long midnight = BankHistory.startOfDay(T0);
+        BankHistory.append(file, midnight - 3 * HOUR_MS, 200);
+        BankHistory.append(file, midnight + HOUR_MS, 250);
+        BankHistory.Change change = BankHistory.readDailyChange(file, 150, midnight + 2 * HOUR_MS);
+        assertEquals(-50, change.amount, 1e-9);
+        assertEquals(-25, change.percent, 1e-9);
+    }
+
+    @Test
+    public void variacaoNaSemanaENoMes() throws IOException {
+        long now = T0 + 60 * BankHistory.DAY_MS;
+        BankHistory.append(file, now - 40 * BankHistory.DAY_MS, 100);
+        BankHistory.append(file, now - 20 * BankHistory.DAY_MS, 200);
+        BankHistory.append(file, now - 3 * BankHistory.DAY_MS, 400);
+
+        // 7 dias: vigente no início da janela é o de 20 dias atrás
+        BankHistory.Change week = BankHistory.readChange(file, 300, now, BankHistory.WEEK_MS);
+        assertEquals(100, week.amount, 1e-9);
+        assertEquals(50, week.percent, 1e-9);
+        // 30 dias: o de 40 dias atrás
+        BankHistory.Change month = BankHistory.readChange(file, 300, now, BankHistory.MONTH_MS);
+        assertEquals(200, month.amount, 1e-9);
+        assertEquals(200, month.percent, 1e-9);
+        // Registro exatamente no início da janela vale como base
+        BankHistory.Change edge = BankHistory.readChange(file, 300, now, 20 * BankHistory.DAY_MS);
+        assertEquals(100, edge.amount, 1e-9);
+    }
+
+    @Test
+    public void janelaAnteriorAoHistoricoUsaOPrimeiroSaldo() throws IOException {
+        long now = T0 + 10 * BankHistory.DAY_MS;
+        BankHistory.append(file, now - 2 * BankHistory.DAY_MS, 80);
+        BankHistory.append(file, now - BankHistory.DAY_MS, 120);
+        assertEquals(20, BankHistory.readChange(file, 100, now, BankHistory.MONTH_MS).amount, 1e-9);
+        assertEquals(20, BankHistory.readChange(file, 100, now, BankHistory.WEEK_MS).amount, 1e-9);
+        assertSame(BankHistory.NO_CHANGE,
+            BankHistory.readChange(new File(folder.getRoot(), "vazio.bin"), 1, now, BankHistory.WEEK_MS));
+    }
+
+    @Test
+    public void historicoQueComecaHojeUsaOPrimeiroSaldo() throws IOException {
+        long midnight = BankHistory.startOfDay(T0);
+        BankHistory.append(file, midnight + HOUR_MS, 0);
+        BankHistory.append(file, midnight + 2 * HOUR_MS, 80);
+        BankHistory.Change change = BankHistory.readDailyChange(file, 100, midnight + 3 * HOUR_MS);
+        assertEquals(100, change.amount, 0);
+        // Base zero: sem percentual
+        assertEquals(0, change.percent, 0);
+    }
+
+    @Test
+    public void estadoMudaACadaRegistro() throws IOException {
+        assertEquals("0", BankHistory.stateKey(file));
+        Set<String> seen = new HashSet<>();
+        seen.add(BankHistory.stateKey(file));
+        for (int i = 0; i < BankHistory.CAPACITY + 10; i++) {
+            BankHistory.append(file, T0 + i * HOUR_MS, i);
+            assertTrue("registro " + i, seen.add(BankHistory.stateKey(file)));
+        }
+        // Saldo repetido não grava nada: o estado não muda
+        String before = BankHistory.stateKey(file);
+        BankHistory.append(file, T0 + 99999 * HOUR_MS, BankHistory.CAPACITY + 9);
+        assertEquals(before, BankHistory.stateKey(file));
+    }
+
+    @Test
+    public void arquivoDeOutroFormato() throws IOException {
+        Files.write(file.toPath(), new byte[24 + BankHistory.CAPACITY * 16]);
+        assertThrows(IOException.class, () -> BankHistory.readDailyChange(file, 1, T0));
+        assertThrows(IOException.class, () -> BankHistory.append(file, T0, 1));
+    }
+
+    private int header(int offset) throws IOException {
+        return map().getInt(offset);
+    }
+
+    private ByteBuffer map() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.TimeZone;
+import org.junit.Test;
+
+// Conversão aritmética contra o java.time, em especial nas trocas de horário de verão
+public class KickoffTimeTest {
+
+    private static final String[] ZONES = {
+        "America/Sao_Paulo", // horário de verão até 2019
+        "America/New_York",
+        "Europe/London",
+        "Australia/Lord_Howe", // troca de 30 minutos
+        "Asia/Kolkata",
+        "UTC",
+    };
+
+    @Test
+    public void trocasDeHorarioIgualAoJavaTime() {
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneRules rules = zoneId.getRules();
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.parse("2015-01-01T00:00:00Z"));
+            int checked = 0;
+            while (transition != null && transition.getInstant().isBefore(Instant.parse("2027-01-01T00:00:00Z"))) {
+                // Minuto a minuto nas três horas em volta da troca (inclui o salto e a sobreposição)
+                LocalDateTime start = transition.getDateTimeBefore().minusMinutes(90);
+                for (int minute = 0; minute <= 180; minute++) {
+                    assertSameAsJavaTime(start.plusMinutes(minute), zoneId, zone);
+                }
+                checked++;
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            // Kolkata e UTC não têm trocas no período
+            assertTrue(id, checked > 0 || rules.getTransitions().isEmpty()
+                || id.equals("Asia/Kolkata"));
+        }
+    }
+
+    @Test
+    public void todosOsDiasDoAno() {
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (LocalDate day = LocalDate.of(2024, 1, 1); day.getYear() == 2024; day = day.plusDays(1)) {
+                assertSameAsJavaTime(day.atTime(0, 0), zoneId, zone);
+                assertSameAsJavaTime(day.atTime(16, 0), zoneId, zone);
+                assertSameAsJavaTime(day.atTime(23, 59), zoneId, zone);
+            }
+        }
+    }
+
+    @Test
+    public void formatosAceitos() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        long expected = Instant.parse("2024-06-01T16:05:00Z").toEpochMilli();
+        assertEquals(expected, KickoffTime.parse("2024-06-01", "16:05", utc));
+        assertEquals(expected, KickoffTime.parse("2024-6-1", "16:05", utc));
+        // Segundos são ignorados
+        assertEquals(expected, KickoffTime.parse("2024-06-01", "16:05:59", utc));
+        assertEquals(Instant.parse("2024-02-29T09:00:00Z").toEpochMilli(),
+            KickoffTime.parse("2024-02-29", "9:00", utc));
+    }
+
+    @Test
+    public void datasInvalidas() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        String[][] invalid = {
+            {"2023-02-29", "10:00"}, {"2024-02-30", "10:00"}, {"2024-13-01", "10:00"},
+            {"2024-00-10", "10:00"}, {"2024-04-31", "10:00"}, {"2024-06-01", "24:00"},
+            {"2024-06-01", "10:60"}, {"2024-06-01", "10"}, {"2024/06/01", "10:00"},
+            {"", ""}, {"2024-06-01", ""}, {"2024-06-01T10:00", "10:00"}, {"20240-06-01", "10:00"},
+            {"2024-06-01", "+1:00"}, {null, "10:00"}, {"2024-06-01", null},
+        };
+        for (String[] value : invalid) {
+            assertEquals(value[0] + " " + value[1], KickoffTime.UNKNOWN,
+                KickoffTime.parse(value[0], value[1], utc));
+        }
+    }
+
+    @Test
+    public void trocaDeFuso() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+            KickoffTime.resetZone();
+            long saoPaulo = KickoffTime.parse("2024-06-01", "16:00");
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Lisbon"));
+            // Sem o aviso do receiver o fuso em cache continua valendo
+            assertEquals(saoPaulo, KickoffTime.parse("2024-06-01", "16:00"));
+            KickoffTime.resetZone();
+            assertEquals(saoPaulo - 4 * 60 * 60 * 1000L, KickoffTime.parse("2024-06-01", "16:00"));
+        } finally {
+            TimeZone.setDefault(original);
+            KickoffTime.resetZone();
+        }
+    }
+
+    private static void assertSameAsJavaTime(LocalDateTime local, ZoneId zoneId, TimeZone zone) {
+        String date = local.toLocalDate().toString();
+        String time = String.format("%02d:%02d", local.getHour(), local.getMinute());
+        assertEquals(zoneId + " " + local, local.atZone(zoneId).toInstant().toEpochMilli(),
+            KickoffTime.parse(date, time, zone));
+    }
+}
@@ -0,0 +1,189 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class MatchTableTest {
+
+    private static final int ROWS = 200;
+
+    @Test
+    public void textoDecodificadoSoParaAsLinhasPedidas() {
+        AtomicInteger reads = new AtomicInteger();
+        MatchTable table = table(ROWS, reads);
+        assertEquals(0, reads.get());
+
+        MatchData match = table.get(17);
+        assertEquals("m17", match.id);
+        assertEquals("2024-06-17", match.matchDate);
+        assertEquals("17:30", match.matchTime);
+        // id, data e hora de uma única linha
+        assertEquals(3, reads.get());
+
+        // Consultas por coluna não montam partidas
+        assertEquals(ROWS / 2, countSettled(table));
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void cacheDevolveAMesmaInstancia() {
+        AtomicInteger reads = new AtomicInteger();
+        MatchTable table = table(ROWS, reads);
+        MatchData first = table.get(5);
+        assertSame(first, table.get(5));
+        assertEquals(3, reads.get());
+        // decode ignora o cache e monta sempre um objeto novo
+        MatchData copy = table.decode(5);
+        assertNotSame(first, copy);
+        assertEquals(describe(first), describe(copy));
+    }
+
+    @Test
+    public void linhasNoMesmoSlotSeSubstituem() {
+        AtomicInteger reads = new AtomicInteger();
+        MatchTable table = table(ROWS, reads);
+        MatchData row3 = table.get(3);
+        MatchData row35 = table.get(35);
+        assertEquals("m35", row35.id);
+        MatchData again = table.get(3);
+        assertNotSame(row3, again);
+        assertEquals(describe(row3), describe(again));
+        assertEquals(9, reads.get());
+        // Slots diferentes convivem
+        assertSame(again, table.get(3));
+        table.get(4);
+        assertSame(again, table.get(3));
+    }
+
+    @Test
+    public void colunasParaCadaCampo() {
+        MatchTable table = table(ROWS, new AtomicInteger());
+        MatchData won = table.get(0);
+        assertEquals("won", won.betStatus);
+        assertEquals(Long.valueOf(1717000000000L), won.resultAt);
+        MatchData pending = table.get(1);
+        assertEquals("pending", pending.betStatus);
+        assertNull(pending.resultAt);
+        assertEquals("Time 1", pending.homeTeam);
+        assertSame(table.get(1).homeTeam, table.get(8).homeTeam);
+    }
+
+    @Test
+    public void ofPreservaOsCampos() {
+        List<MatchData> matches = new ArrayList<>();
+        SavedMatchesParser.parse(SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(
+            1000, SavedAnalysisGenerator.DEFAULT_SEED, SavedAnalysisGenerator.Detail.FULL)), matches);
+        MatchTable table = MatchTable.of(matches);
+        List<MatchData> copies = table.toList();
+        assertEquals(matches.size(), table.size());
+        for (int row = 0; row < matches.size(); row++) {
+            assertEquals(describe(matches.get(row)), describe(table.get(row)));
+            assertEquals(describe(matches.get(row)), describe(copies.get(row)));
+        }
+    }
+
+    @Test
+    public void leiturasConcorrentes() throws InterruptedException {
+        MatchTable table = table(ROWS, new AtomicInteger());
+        AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50000; i++) {
+                    int row = (i * 7 + seed * 13) % ROWS;
+                    if (!("m" + row).equals(table.get(row).id)) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+
+    // Tabela com texto sob demanda, como a lida da fotografia, contando as strings lidas
+    private static MatchTable table(int count, AtomicInteger reads) {
+        double[] odd = new double[count];
+        double[] probability = new double[count];
+        double[] ev = new double[count];
+        double[] betAmount = new double[count];
+        double[] potentialReturn = new double[count];
+        long[] timestamp = new long[count];
+        long[] resultAt = new long[count];
+        long[] kickoffAt = new long[count];
+        byte[] status = new byte[count];
+        int[] homeTeam = new int[count];
+        int[] awayTeam = new int[count];
+        int[] idRefs = new int[count];
+        int[] dateRefs = new int[count];
+        int[] timeRefs = new int[count];
+        String[] teams = new String[7];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = "Time " + i;
+        }
+        for (int i = 0; i < count; i++) {
+            odd[i] = 1.5;
+            probability[i] = 0.7;
+            ev[i] = i % 3 - 1;
+            betAmount[i] = 10;
+            potentialReturn[i] = 15;
+            timestamp[i] = 1716000000000L + i;
+            boolean settled = i % 2 == 0;
+            status[i] = settled ? MatchTable.STATUS_WON : MatchTable.STATUS_PENDING;
+            resultAt[i] = settled ? 1717000000000L + i : MatchTable.NO_RESULT_AT;
+            kickoffAt[i] = KickoffTime.UNKNOWN;
+            homeTeam[i] = i % teams.length;
+            awayTeam[i] = (i + 1) % teams.length;
+            idRefs[i] = 3 * i;
+            dateRefs[i] = 3 * i + 1;
+            timeRefs[i] = 3 * i + 2;
+        }
+        return new MatchTable(count, DoubleBuffer.wrap(odd), DoubleBuffer.wrap(probability),
+            DoubleBuffer.wrap(ev), DoubleBuffer.wrap(betAmount), DoubleBuffer.wrap(potentialReturn),
+            LongBuffer.wrap(timestamp), LongBuffer.wrap(resultAt), LongBuffer.wrap(kickoffAt),
+            ByteBuffer.wrap(status), IntBuffer.wrap(homeTeam), IntBuffer.wrap(awayTeam), teams,
+            IntBuffer.wrap(idRefs), IntBuffer.wrap(dateRefs), IntBuffer.wrap(timeRefs),
+            ref -> {
+                reads.incrementAndGet();
+                int row = ref / 3;
+                switch (ref % 3) {
+                    case 0: return "m" + row;
+                    case 1: return "2024-06-" + row;
+                    default: return row + ":30";
+                }
+            });
+    }
+
+    private static int countSettled(MatchTable table) {
+        int settled = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (table.isSettled(row)) {
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    private static String describe(MatchData match) {
+        return match.id + "|" + match.homeTeam + "|" + match.awayTeam + "|" + match.matchDate
+            + "|" + match.matchTime + "|" + match.odd + "|" + match.probability + "|" + match.ev
+            + "|" + MatchTable.decodeStatus(MatchTable.encodeStatus(match.betStatus))
+            + "|" + match.betAmount + "|" + match.potentialReturn + "|" + match.timestamp
+            + "|" + match.resultAt + "|" + match.kickoffAt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+// Ordem gravada das apostas resolvidas contra a ordenação estável de referência
+public class RecentResultsTest {
+
+    @Test
+    public void igualAOrdenacaoCompleta() {
+        for (SavedAnalysisGenerator.Detail detail : SavedAnalysisGenerator.Detail.values()) {
+            List<MatchData> matches = generated(3000, detail);
+            List<String> expected = ids(sortedSettled(matches));
+            assertEquals(detail.name(), expected, ids(matches, RecentResults.order(matches)));
+            assertEquals(detail.name(), expected,
+                ids(matches, RecentResults.order(MatchTable.of(matches))));
+        }
+    }
+
+    @Test
+    public void empatesMantemAOrdemSalva() {
+        List<MatchData> matches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            // Cinco datas apenas, muitas apostas na mesma
+            matches.add(match("m" + i, i % 3 == 0 ? "lost" : "won", 1000L * (i % 5), null));
+        }
+        assertEquals(ids(sortedSettled(matches)), ids(matches, RecentResults.order(matches)));
+        assertEquals(ids(sortedSettled(matches)),
+            ids(matches, RecentResults.order(MatchTable.of(matches))));
+    }
+
+    @Test
+    public void resultAtTemPrioridadeSobreADataDaAnalise() {
+        List<MatchData> matches = Arrays.asList(
+            match("antiga-resolvida-agora", "won", 100, 9000L),
+            match("nova-sem-resultAt", "lost", 5000, null),
+            match("pendente", "pending", 9999, null),
+            match("cancelada", "cancelled", 9999, 9999L),
+            match("sem-status", null, 9999, null),
+            match("nova-resolvida-antes", "won", 8000, 3000L));
+        assertEquals(Arrays.asList("antiga-resolvida-agora", "nova-sem-resultAt",
+            "nova-resolvida-antes"), ids(matches, RecentResults.order(MatchTable.of(matches))));
+    }
+
+    @Test
+    public void semResolvidas() {
+        List<MatchData> pending = Arrays.asList(match("a", "pending", 1, null),
+            match("b", "", 2, null));
+        assertEquals(0, RecentResults.order(pending).length);
+        assertEquals(0, RecentResults.order(MatchTable.of(pending)).length);
+        assertEquals(0, RecentResults.order(MatchTable.EMPTY).length);
+    }
+
+    @Test
+    public void primeirasPosicoesDaFotografia() {
+        List<MatchData> matches = generated(500, SavedAnalysisGenerator.Detail.MINIMAL);
+        WidgetSnapshotFile.Contents contents = new WidgetSnapshotFile.Contents(1,
+            MatchTable.of(matches), WidgetStatsAggregate.rebuild(matches));
+        WidgetSnapshot snapshot = new WidgetSnapshot(1, 0, contents.matches, null, contents.stats,
+            contents.kickoffs, contents.settled, BankHistory.NO_CHANGE);
+        List<MatchData> settled = sortedSettled(matches);
+        assertEquals(ids(settled.subList(0, WidgetSnapshot.RECENT_RESULTS_LIMIT)),
+            ids(snapshot.getRecentResults()));
+        assertEquals(contents.stats.wonCount + contents.stats.lostCount, settled.size());
+    }
+
+    // Referência: filtra e ordena tudo (estável), do mais recente para o mais antigo
+    private static List<MatchData> sortedSettled(List<MatchData> matches) {
+        List<MatchData> settled = new ArrayList<>();
+        for (MatchData match : matches) {
+            if (RecentResults.isSettled(match)) {
+                settled.add(match);
+            }
+        }
+        Collections.sort(settled, (a, b) ->
+            Long.compare(RecentResults.settledAt(b), RecentResults.settledAt(a)));
+        return settled;
+    }
+
+    private static List<MatchData> generated(int count, SavedAnalysisGenerator.Detail detail) {
+        List<MatchData> matches = new ArrayList<>();
+        SavedMatchesParser.parse(SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(
+            count, SavedAnalysisGenerator.DEFAULT_SEED, detail)), matches);
+        return matches;
+    }
+
+    private static MatchData match(String id, String status, long timestamp, Long resultAt) {
+        MatchData match = new MatchData();
+        match.id = id;
+        match.homeTeam = "Casa";
+        match.awayTeam = "Fora";
+        match.matchDate = "";
+        match.matchTime = "";
+        match.betStatus = status;
+        match.timestamp = timestamp;
+        match.resultAt = resultAt;
+        match.kickoffAt = KickoffTime.UNKNOWN;
+        return match;
+    }
+
+    private static List<String> ids(List<MatchData> matches, int[] rows) {
+        List<String> ids = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            ids.add(matches.get(row).id);
+        }
+        return ids;
+    }
+
+    private static List<String> ids(List<MatchData> matches) {
+        List<String> ids = new ArrayList<>(matches.size());
+        for (MatchData match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+}
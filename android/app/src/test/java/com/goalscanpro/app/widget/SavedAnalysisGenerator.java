@@ -0,0 +1,749 @@
+package com.goalscanpro.app.widget;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Random;
+
+// Payloads goalscan_saved determinísticos no formato de types.ts (1.000 é prefixo de 10.000)
+// Fixture avulsa: gradle -p android/widget-bench generateFixture -Pcount=5000 -Pseed=7 -Pdetail=FULL
+final class SavedAnalysisGenerator {
+
+    static final long DEFAULT_SEED = 20240601L;
+
+    // Instante de referência ("agora") dos payloads e dos benchmarks
+    static final long NOW = ZonedDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneId.systemDefault())
+        .toInstant().toEpochMilli();
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+
+    // Quanto de cada análise é preenchido
+    enum Detail {
+        // Só os campos obrigatórios de MatchData e AnalysisResult
+        MINIMAL,
+        // + estatísticas dos últimos 10 jogos, históricos, H2H e probabilidades Over/Under
+        TYPICAL,
+        // + linhas das tabelas geral/complemento, médias da competição e apostas selecionadas
+        FULL
+    }
+
+    // Tamanho e forma do payload; os padrões imitam uma conta em uso há alguns meses
+    static final class Options {
+        int count = 1000;
+        long seed = DEFAULT_SEED;
+        Detail detail = Detail.TYPICAL;
+        long now = NOW;
+
+        // Janela de datas das partidas, em dias antes/depois de "agora"
+        int pastDays = 90;
+        int futureDays = 14;
+        // Peso relativo de um dia útil frente a sábado/domingo (rodadas concentradas no fim de semana)
+        double weekdayWeight = 0.35;
+
+        // Fração das partidas passadas com aposta registrada, e das futuras com aposta pendente
+        double pastBetRatio = 0.8;
+        double futureBetRatio = 0.3;
+        // Mistura de status das apostas em partidas passadas
+        double wonWeight = 55;
+        double lostWeight = 35;
+        double cancelledWeight = 4;
+        double unresolvedWeight = 6;
+
+        // Banca usada para o valor das apostas (BetInfo.bankPercentage)
+        double bank = 1000;
+
+        static Options of(int count, long seed, Detail detail) {
+            Options options = new Options();
+            options.count = count;
+            options.seed = seed;
+            options.detail = detail;
+            return options;
+        }
+    }
+
+    private static final String[] TEAMS = {
+        "Flamengo", "Palmeiras", "Corinthians", "São Paulo", "Grêmio", "Internacional",
+        "Atlético Mineiro", "Cruzeiro", "Fluminense", "Botafogo", "Vasco da Gama", "Santos",
+        "Bahia", "Fortaleza", "Athletico Paranaense", "Red Bull Bragantino", "Cuiabá", "Juventude",
+        "Bayern Munich", "Dortmund", "RB Leipzig", "Leverkusen", "Real Madrid", "Barcelona",
+        "Atlético Madrid", "Manchester City", "Arsenal", "Liverpool", "Inter", "Milan",
+        "Napoli", "Benfica", "Porto", "Sporting CP", "Boca Juniors", "River Plate"
+    };
+    private static final String[] CHAMPIONSHIPS = {
+        "brasileirao-serie-a", "bundesliga", "la-liga", "premier-league", "serie-a", "liga-portugal"
+    };
+    // Horários de início mais comuns (HH:mm)
+    private static final String[] SLOTS = {
+        "11:00", "16:00", "16:30", "18:30", "19:00", "19:30", "20:00", "21:00", "21:30"
+    };
+    private static final String[] LINES = {"0.5", "1.5", "2.5", "3.5", "4.5", "5.5"};
+    private static final String[] ABSENCES = {"none", "low", "medium", "high"};
+
+    private SavedAnalysisGenerator() {
+    }
+
+    static String json(int count) {
+        return json(Options.of(count, DEFAULT_SEED, Detail.TYPICAL));
+    }
+
+    static String json(Options options) {
+        StringBuilder sb = new StringBuilder(options.count * estimatedRecordSize(options.detail));
+        try {
+            write(options, sb);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder não lança IOException
+        }
+        return sb.toString();
+    }
+
+    static void write(Options options, Appendable out) throws IOException {
+        JsonWriter json = new JsonWriter();
+        out.append('[');
+        for (int i = 0; i < options.count; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            json.reset();
+            writeAnalysis(json, options, i);
+            out.append(json.sb);
+        }
+        out.append(']');
+    }
+
+    // Uso: SavedAnalysisGenerator <count> [seed] [MINIMAL|TYPICAL|FULL] > payload.json
+    public static void main(String[] args) throws IOException {
+        Options options = Options.of(
+            args.length > 0 ? Integer.parseInt(args[0]) : 1000,
+            args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED,
+            args.length > 2 ? Detail.valueOf(args[2].toUpperCase(Locale.ROOT)) : Detail.TYPICAL);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        write(options, writer);
+        writer.flush();
+    }
+
+    private static int estimatedRecordSize(Detail detail) {
+        switch (detail) {
+            case MINIMAL: return 2000;
+            case TYPICAL: return 5200;
+            default: return 9000;
+        }
+    }
+
+    // ---- SavedAnalysis ----
+
+    private static void writeAnalysis(JsonWriter json, Options options, int index) {
+        Random random = new Random(options.seed * 0x9E3779B97F4A7C15L + index);
+        int home = random.nextInt(TEAMS.length);
+        int away = (home + 1 + random.nextInt(TEAMS.length - 1)) % TEAMS.length;
+
+        ZonedDateTime kickoff = kickoff(random, options);
+        long kickoffAt = kickoff.toInstant().toEpochMilli();
+        // Análise salva entre 3 dias e 1 hora antes do jogo, nunca depois de "agora"
+        long savedAt = Math.min(options.now, kickoffAt - (1 + random.nextInt(72)) * HOUR_MS
+            - random.nextInt(60) * 60_000L);
+
+        double lambdaHome = 0.6 + random.nextDouble() * 1.8;
+        double lambdaAway = 0.4 + random.nextDouble() * 1.6;
+        double probability = 100 * (1 - poissonCumulative(1, lambdaHome + lambdaAway));
+        double odd = round(Math.max(1.05, 100 / probability * (0.9 + random.nextDouble() * 0.25)), 2);
+
+        json.beginObject();
+        json.field("id", Long.toString(savedAt, 36) + "-" + Integer.toString(index, 36));
+        json.field("timestamp", savedAt);
+        json.name("data");
+        writeMatchData(json, random, options.detail, TEAMS[home], TEAMS[away], kickoff, odd,
+            lambdaHome, lambdaAway);
+        json.name("result");
+        writeResult(json, random, options.detail, probability, odd, lambdaHome, lambdaAway);
+        writeBetInfo(json, random, options, kickoffAt, savedAt, odd, probability);
+        if (options.detail == Detail.FULL && random.nextBoolean()) {
+            json.name("selectedBets").beginArray();
+            json.beginObject().field("line", "1.5").field("type", "over")
+                .field("probability", round(probability, 2)).endObject();
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    // Dia sorteado na janela com mais peso no fim de semana, em um dos horários habituais
+    private static ZonedDateTime kickoff(Random random, Options options) {
+        LocalDate today = ZonedDateTime.ofInstant(java.time.Instant.ofEpochMilli(options.now),
+            ZoneId.systemDefault()).toLocalDate();
+        LocalDate day;
+        do {
+            day = today.plusDays(random.nextInt(options.pastDays + options.futureDays + 1) - options.pastDays);
+        } while (!isWeekend(day) && random.nextDouble() >= options.weekdayWeight);
+        String slot = SLOTS[random.nextInt(SLOTS.length)];
+        int hour = Integer.parseInt(slot.substring(0, 2));
+        int minute = Integer.parseInt(slot.substring(3));
+        return day.atTime(hour, minute).atZone(ZoneId.systemDefault());
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        return day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    // ---- MatchData ----
+
+    private static void writeMatchData(JsonWriter json, Random random, Detail detail, String homeTeam,
+                                       String awayTeam, ZonedDateTime kickoff, double odd,
+                                       double lambdaHome, double lambdaAway) {
+        json.beginObject();
+        json.field("homeTeam", homeTeam);
+        json.field("awayTeam", awayTeam);
+        json.field("matchDate", kickoff.toLocalDate().toString());
+        json.field("matchTime", String.format(Locale.ROOT, "%02d:%02d", kickoff.getHour(), kickoff.getMinute()));
+        json.field("competitionAvg", round(2.3 + random.nextDouble() * 0.8, 2));
+        json.field("oddOver15", odd);
+        json.field("championshipId", CHAMPIONSHIPS[random.nextInt(CHAMPIONSHIPS.length)]);
+        json.field("homeGoalsScoredAvg", round(lambdaHome * (0.8 + random.nextDouble() * 0.4), 2));
+        json.field("homeGoalsConcededAvg", round(lambdaAway * (0.8 + random.nextDouble() * 0.4), 2));
+        json.field("awayGoalsScoredAvg", round(lambdaAway * (0.8 + random.nextDouble() * 0.4), 2));
+        json.field("awayGoalsConcededAvg", round(lambdaHome * (0.8 + random.nextDouble() * 0.4), 2));
+        json.field("homeXG", round(lambdaHome * (0.85 + random.nextDouble() * 0.3), 2));
+        json.field("awayXG", round(lambdaAway * (0.85 + random.nextDouble() * 0.3), 2));
+        json.field("homeShotsOnTarget", round(3 + random.nextDouble() * 4, 1));
+        json.field("awayShotsOnTarget", round(2 + random.nextDouble() * 4, 1));
+        json.field("homeBTTSFreq", random.nextInt(101));
+        json.field("awayBTTSFreq", random.nextInt(101));
+        json.field("homeCleanSheetFreq", random.nextInt(61));
+        json.field("awayCleanSheetFreq", random.nextInt(61));
+        json.field("h2hOver15Freq", random.nextInt(101));
+        json.field("matchImportance", 1 + random.nextInt(5));
+        json.field("keyAbsences", ABSENCES[random.nextInt(ABSENCES.length)]);
+        json.name("homeHistory");
+        writeHistory(json, random, kickoff.toLocalDate(), false);
+        json.name("awayHistory");
+        writeHistory(json, random, kickoff.toLocalDate(), false);
+
+        if (detail != Detail.MINIMAL) {
+            json.field("homeGoalsScoredAtHome", round(lambdaHome * 1.1, 2));
+            json.field("homeGoalsConcededAtHome", round(lambdaAway * 0.9, 2));
+            json.field("awayGoalsScoredAway", round(lambdaAway * 0.9, 2));
+            json.field("awayGoalsConcededAway", round(lambdaHome * 1.1, 2));
+            json.field("homeXA", round(lambdaHome * 0.7, 2));
+            json.field("awayXA", round(lambdaAway * 0.7, 2));
+            json.field("homeProgressivePasses", round(30 + random.nextDouble() * 30, 1));
+            json.field("awayProgressivePasses", round(30 + random.nextDouble() * 30, 1));
+            json.field("homeKeyPasses", round(6 + random.nextDouble() * 8, 1));
+            json.field("awayKeyPasses", round(6 + random.nextDouble() * 8, 1));
+            json.field("h2hAvgGoals", round(1.5 + random.nextDouble() * 2, 2));
+            json.name("h2hMatches");
+            writeHistory(json, random, kickoff.toLocalDate(), true);
+            json.name("homeTeamStats");
+            writeTeamStatistics(json, random);
+            json.name("awayTeamStats");
+            writeTeamStatistics(json, random);
+        }
+
+        if (detail == Detail.FULL) {
+            json.name("homeTableData");
+            writeTableRowGeral(json, random, homeTeam);
+            json.name("awayTableData");
+            writeTableRowGeral(json, random, awayTeam);
+            json.name("homeComplementData");
+            writeTableRowComplement(json, random, homeTeam);
+            json.name("awayComplementData");
+            writeTableRowComplement(json, random, awayTeam);
+            json.name("competitionComplementAvg");
+            writeComplementAverages(json, random);
+        }
+        json.endObject();
+    }
+
+    // RecentMatch[] (últimos 5 jogos) ou H2HMatch[] (com totalGoals)
+    private static void writeHistory(JsonWriter json, Random random, LocalDate before, boolean h2h) {
+        json.beginArray();
+        LocalDate date = before;
+        for (int i = 0; i < 5; i++) {
+            date = date.minusDays(h2h ? 120 + random.nextInt(120) : 4 + random.nextInt(6));
+            int homeScore = goals(random);
+            int awayScore = goals(random);
+            json.beginObject();
+            json.field("date", date.toString());
+            json.field("homeScore", homeScore);
+            json.field("awayScore", awayScore);
+            if (h2h) {
+                json.field("totalGoals", homeScore + awayScore);
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    private static int goals(Random random) {
+        int value = 0;
+        while (value < 6 && random.nextInt(100) < 55) {
+            value++;
+        }
+        return value;
+    }
+
+    // TeamStatistics: percurso e gols (Casa/Fora/Global) e, às vezes, abre marcador
+    private static void writeTeamStatistics(JsonWriter json, Random random) {
+        json.beginObject();
+        json.name("percurso").beginObject();
+        for (String venue : new String[] {"home", "away", "global"}) {
+            json.name(venue).beginObject();
+            json.field("winStreak", random.nextInt(4));
+            json.field("drawStreak", random.nextInt(3));
+            json.field("lossStreak", random.nextInt(3));
+            json.field("withoutWin", random.nextInt(5));
+            json.field("withoutDraw", random.nextInt(8));
+            json.field("withoutLoss", random.nextInt(8));
+            json.endObject();
+        }
+        json.endObject();
+        json.name("gols").beginObject();
+        for (String venue : new String[] {"home", "away", "global"}) {
+            double scored = round(0.5 + random.nextDouble() * 2, 2);
+            double conceded = round(0.4 + random.nextDouble() * 1.8, 2);
+            int over25 = random.nextInt(101);
+            json.name(venue).beginObject();
+            json.field("avgScored", scored);
+            json.field("avgConceded", conceded);
+            json.field("avgTotal", round(scored + conceded, 2));
+            json.field("cleanSheetPct", random.nextInt(61));
+            json.field("noGoalsPct", random.nextInt(41));
+            json.field("over25Pct", over25);
+            json.field("under25Pct", 100 - over25);
+            json.endObject();
+        }
+        json.endObject();
+        if (random.nextInt(3) > 0) {
+            json.name("firstGoal").beginObject();
+            for (String venue : new String[] {"home", "away", "global"}) {
+                json.name(venue).beginObject();
+                json.field("opensScorePct", random.nextInt(101));
+                json.field("opensScoreCount", random.nextInt(11));
+                json.field("winningAtHT", random.nextInt(101));
+                json.field("winningAtHTCount", random.nextInt(8));
+                json.field("winsFinal", random.nextInt(101));
+                json.field("winsFinalCount", random.nextInt(8));
+                if ("away".equals(venue)) {
+                    json.field("comebacks", random.nextInt(3));
+                }
+                json.endObject();
+            }
+            json.endObject();
+        }
+        json.endObject();
+    }
+
+    // TableRowGeral: todos os valores como texto, como vêm da planilha
+    private static void writeTableRowGeral(JsonWriter json, Random random, String squad) {
+        json.beginObject();
+        json.field("Rk", Integer.toString(1 + random.nextInt(20)));
+        json.field("Squad", squad);
+        for (String venue : new String[] {"Home", "Away"}) {
+            int played = 8 + random.nextInt(10);
+            int won = random.nextInt(played + 1);
+            int drawn = random.nextInt(played - won + 1);
+            int lost = played - won - drawn;
+            int goalsFor = played + random.nextInt(played + 1);
+            int goalsAgainst = random.nextInt(played * 2 + 1);
+            double xg = goalsFor * (0.8 + random.nextDouble() * 0.4);
+            double xga = goalsAgainst * (0.8 + random.nextDouble() * 0.4);
+            int points = won * 3 + drawn;
+            json.field(venue + " MP", Integer.toString(played));
+            json.field(venue + " W", Integer.toString(won));
+            json.field(venue + " D", Integer.toString(drawn));
+            json.field(venue + " L", Integer.toString(lost));
+            json.field(venue + " GF", Integer.toString(goalsFor));
+            json.field(venue + " GA", Integer.toString(goalsAgainst));
+            json.field(venue + " GD", signed(goalsFor - goalsAgainst));
+            json.field(venue + " Pts", Integer.toString(points));
+            json.field(venue + " Pts/MP", decimal((double) points / played, 2));
+            json.field(venue + " xG", decimal(xg, 1));
+            json.field(venue + " xGA", decimal(xga, 1));
+            json.field(venue + " xGD", decimal(xg - xga, 1));
+            json.field(venue + " xGD/90", decimal((xg - xga) / played, 2));
+        }
+        StringBuilder last5 = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            last5.append(i > 0 ? " " : "").append("WDL".charAt(random.nextInt(3)));
+        }
+        json.field("Last 5", last5.toString());
+        json.field("Attendance", String.format(Locale.ROOT, "%,d", 15000 + random.nextInt(60000)));
+        json.field("Top Team Scorer", "Jogador " + (1 + random.nextInt(30)) + " - " + (3 + random.nextInt(15)));
+        json.field("Goalkeeper", "Goleiro " + (1 + random.nextInt(30)));
+        json.field("Notes", "");
+        json.endObject();
+    }
+
+    // TableRowComplement (Standard - For do FBref)
+    private static void writeTableRowComplement(JsonWriter json, Random random, String squad) {
+        int played = 20 + random.nextInt(15);
+        int goals = played + random.nextInt(played);
+        int assists = (int) (goals * (0.6 + random.nextDouble() * 0.2));
+        int penalties = random.nextInt(6);
+        double nineties = played * (0.98 + random.nextDouble() * 0.02);
+        json.beginObject();
+        json.field("Squad", squad);
+        json.field("Pl", Integer.toString(22 + random.nextInt(12)));
+        json.field("Age", decimal(24 + random.nextDouble() * 5, 1));
+        json.field("Poss", decimal(38 + random.nextDouble() * 25, 1));
+        json.field("Playing Time MP", Integer.toString(played));
+        json.field("Playing Time Starts", Integer.toString(played * 11));
+        json.field("Playing Time Min", String.format(Locale.ROOT, "%,d", Math.round(nineties * 90)));
+        json.field("Playing Time 90s", decimal(nineties, 1));
+        json.field("Performance Gls", Integer.toString(goals));
+        json.field("Performance Ast", Integer.toString(assists));
+        json.field("Performance G+A", Integer.toString(goals + assists));
+        json.field("Performance G-PK", Integer.toString(goals - penalties));
+        json.field("Performance PK", Integer.toString(penalties));
+        json.field("Performance PKatt", Integer.toString(penalties + random.nextInt(3)));
+        json.field("Performance CrdY", Integer.toString(30 + random.nextInt(50)));
+        json.field("Performance CrdR", Integer.toString(random.nextInt(5)));
+        json.field("Per 90 Minutes Gls", decimal(goals / nineties, 2));
+        json.field("Per 90 Minutes Ast", decimal(assists / nineties, 2));
+        json.field("Per 90 Minutes G+A", decimal((goals + assists) / nineties, 2));
+        json.field("Per 90 Minutes G-PK", decimal((goals - penalties) / nineties, 2));
+        json.field("Per 90 Minutes G+A-PK", decimal((goals + assists - penalties) / nineties, 2));
+        json.endObject();
+    }
+
+    private static void writeComplementAverages(JsonWriter json, Random random) {
+        json.beginObject();
+        json.field("pl", round(25 + random.nextDouble() * 4, 2));
+        json.field("age", round(26 + random.nextDouble() * 2, 2));
+        json.field("poss", 50);
+        json.field("playingTimeMp", round(25 + random.nextDouble() * 5, 2));
+        json.field("playingTime90s", round(25 + random.nextDouble() * 5, 2));
+        json.field("performanceGls", round(35 + random.nextDouble() * 10, 2));
+        json.field("performanceAst", round(24 + random.nextDouble() * 8, 2));
+        json.field("performanceGA", round(60 + random.nextDouble() * 15, 2));
+        json.field("performanceGPK", round(32 + random.nextDouble() * 8, 2));
+        json.field("per90Gls", round(1.2 + random.nextDouble() * 0.4, 2));
+        json.field("per90Ast", round(0.8 + random.nextDouble() * 0.3, 2));
+        json.field("per90GA", round(2 + random.nextDouble() * 0.6, 2));
+        json.field("per90GPK", round(1.1 + random.nextDouble() * 0.4, 2));
+        json.field("per90GAPK", round(1.9 + random.nextDouble() * 0.6, 2));
+        json.endObject();
+    }
+
+    // ---- AnalysisResult ----
+
+    private static void writeResult(JsonWriter json, Random random, Detail detail, double probability,
+                                    double odd, double lambdaHome, double lambdaAway) {
+        double lambdaTotal = lambdaHome + lambdaAway;
+        double tableProbability = clamp(probability + (random.nextDouble() - 0.5) * 12, 0, 100);
+        double combined = (probability * 0.6 + tableProbability * 0.4);
+        double btts = 100 * (1 - Math.exp(-lambdaHome)) * (1 - Math.exp(-lambdaAway));
+
+        json.beginObject();
+        json.field("probabilityOver15", probability);
+        if (detail != Detail.MINIMAL) {
+            json.field("tableProbability", tableProbability);
+            json.field("combinedProbability", combined);
+            json.field("bttsProbability", btts);
+            json.field("recentFormConfidenceIndex", random.nextInt(101));
+            json.field("recentLambdaTrend", new String[] {"up", "down", "flat", "unknown"}[random.nextInt(4)]);
+            json.field("recentLambdaTrendDelta", (random.nextDouble() - 0.5) * 0.8);
+        }
+        json.field("confidenceScore", 40 + random.nextInt(56));
+        json.name("poissonHome");
+        writePoisson(json, lambdaHome);
+        json.name("poissonAway");
+        writePoisson(json, lambdaAway);
+        json.field("riskLevel", combined > 82 ? "Baixo" : combined > 72 ? "Moderado" : combined > 60 ? "Alto" : "Muito Alto");
+        json.field("verdict", combined > 80 ? "ALTA CONFIANÇA EM GOLS" : combined > 70 ? "CENÁRIO FAVORÁVEL" : "JOGO TRANCADO");
+        json.field("recommendation", combined > 82
+            ? "Entrada recomendada pré-live ou Over 1.0 HT no minuto 15."
+            : "Aguarde o Live. Só entre se houver 3 chutes a gol nos primeiros 10 minutos.");
+        json.field("ev", ((combined / 100) * odd - 1) * 100);
+        json.name("advancedMetrics").beginObject();
+        json.field("offensiveVolume", clamp(lambdaTotal / 3 * 100, 0, 100));
+        json.field("defensiveLeaking", clamp(lambdaTotal / 2 * 50, 0, 100));
+        json.field("bttsCorrelation", clamp(btts, 0, 100));
+        json.field("formTrend", (random.nextDouble() - 0.5) * 20);
+        json.field("finishingSignal", (random.nextDouble() - 0.5) * 30);
+        json.endObject();
+
+        if (detail != Detail.MINIMAL) {
+            double draw = 0;
+            double homeWin = 0;
+            for (int h = 0; h <= 10; h++) {
+                for (int a = 0; a <= 10; a++) {
+                    double p = poisson(h, lambdaHome) * poisson(a, lambdaAway);
+                    if (h > a) {
+                        homeWin += p;
+                    } else if (h == a) {
+                        draw += p;
+                    }
+                }
+            }
+            json.name("matchOdds").beginObject();
+            json.field("home", homeWin * 100);
+            json.field("draw", draw * 100);
+            json.field("away", (1 - homeWin - draw) * 100);
+            json.endObject();
+            json.name("overUnderProbabilities");
+            writeOverUnder(json, lambdaTotal);
+        }
+        if (detail == Detail.FULL) {
+            json.name("tableOverUnderProbabilities");
+            writeOverUnder(json, lambdaTotal * (0.9 + random.nextDouble() * 0.2));
+            json.name("statsOverUnderProbabilities");
+            writeOverUnder(json, lambdaTotal * (0.9 + random.nextDouble() * 0.2));
+            writeRecommendedCombinations(json, lambdaTotal);
+        }
+        json.endObject();
+    }
+
+    private static void writePoisson(JsonWriter json, double lambda) {
+        json.beginArray();
+        for (int goals = 0; goals <= 5; goals++) {
+            json.value(poisson(goals, lambda));
+        }
+        json.endArray();
+    }
+
+    private static void writeOverUnder(JsonWriter json, double lambdaTotal) {
+        json.beginObject();
+        for (String line : LINES) {
+            double under = 100 * poissonCumulative((int) Double.parseDouble(line), lambdaTotal);
+            json.name(line).beginObject();
+            json.field("over", 100 - under);
+            json.field("under", under);
+            json.endObject();
+        }
+        json.endObject();
+    }
+
+    // Over em uma linha >= 75% combinado com Under em linha maior >= 75% (mesma regra do motor)
+    private static void writeRecommendedCombinations(JsonWriter json, double lambdaTotal) {
+        json.name("recommendedCombinations").beginArray();
+        for (int i = 0; i < LINES.length; i++) {
+            double over = 100 * (1 - poissonCumulative(i, lambdaTotal));
+            if (over < 75) {
+                continue;
+            }
+            for (int j = i + 1; j < LINES.length; j++) {
+                double under = 100 * poissonCumulative(j, lambdaTotal);
+                if (under >= 75) {
+                    json.beginObject();
+                    json.field("overLine", i + 0.5);
+                    json.field("underLine", j + 0.5);
+                    json.field("overProb", over);
+                    json.field("underProb", under);
+                    json.field("combinedProb", (poissonCumulative(j, lambdaTotal) - poissonCumulative(i, lambdaTotal)) * 100);
+                    json.endObject();
+                }
+            }
+        }
+        json.endArray();
+    }
+
+    // ---- BetInfo ----
+
+    private static void writeBetInfo(JsonWriter json, Random random, Options options, long kickoffAt,
+                                     long savedAt, double odd, double probability) {
+        boolean played = kickoffAt + 2 * HOUR_MS <= options.now;
+        if (random.nextDouble() >= (played ? options.pastBetRatio : options.futureBetRatio)) {
+            return;
+        }
+        String status = played ? settledStatus(random, options, probability) : "pending";
+        double bankPercentage = round(1 + random.nextDouble() * 4, 1);
+        double betAmount = round(options.bank * bankPercentage / 100, 2);
+        double potentialReturn = round(betAmount * odd, 2);
+
+        json.name("betInfo").beginObject();
+        json.field("betAmount", betAmount);
+        json.field("odd", odd);
+        json.field("potentialReturn", potentialReturn);
+        json.field("potentialProfit", round(potentialReturn - betAmount, 2));
+        json.field("bankPercentage", bankPercentage);
+        json.field("status", status);
+        json.field("placedAt", savedAt + random.nextInt(30) * 60_000L);
+        if (!"pending".equals(status)) {
+            json.field("resultAt", kickoffAt + 2 * HOUR_MS + random.nextInt(6 * 60) * 60_000L);
+        }
+        if (random.nextInt(10) == 0) {
+            json.field("leverage", round(1 + random.nextDouble(), 1));
+            json.field("useLeverageProgression", true);
+            json.field("leverageProgressionDay", 1 + random.nextInt(5));
+        }
+        json.endObject();
+    }
+
+    // Ganha/perde segundo os pesos; a probabilidade do jogo desempata a favor do resultado provável
+    private static String settledStatus(Random random, Options options, double probability) {
+        double total = options.wonWeight + options.lostWeight + options.cancelledWeight + options.unresolvedWeight;
+        double pick = random.nextDouble() * total;
+        if (pick < options.cancelledWeight) {
+            return "cancelled";
+        }
+        pick -= options.cancelledWeight;
+        if (pick < options.unresolvedWeight) {
+            return "pending";
+        }
+        pick -= options.unresolvedWeight;
+        double won = options.wonWeight / (options.wonWeight + options.lostWeight);
+        // Leve correlação com a probabilidade estimada (±10 p.p. em torno da mistura pedida)
+        double bias = (probability - 75) / 250;
+        return random.nextDouble() < clamp(won + bias, 0, 1) ? "won" : "lost";
+    }
+
+    // ---- Utilitários ----
+
+    private static double poisson(int k, double lambda) {
+        double value = Math.exp(-lambda);
+        for (int i = 1; i <= k; i++) {
+            value *= lambda / i;
+        }
+        return value;
+    }
+
+    private static double poissonCumulative(int k, double lambda) {
+        double sum = 0;
+        for (int i = 0; i <= k; i++) {
+            sum += poisson(i, lambda);
+        }
+        return sum;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    private static String decimal(double value, int decimals) {
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    private static String signed(int value) {
+        return value > 0 ? "+" + value : Integer.toString(value);
+    }
+
+    // Escrita mínima de JSON; números no formato do JSON.stringify
+    private static final class JsonWriter {
+
+        final StringBuilder sb = new StringBuilder(4096);
+        private final boolean[] first = new boolean[32];
+        private int depth;
+        private boolean afterName;
+
+        void reset() {
+            sb.setLength(0);
+            depth = 0;
+            afterName = false;
+        }
+
+        JsonWriter beginObject() {
+            beforeValue();
+            sb.append('{');
+            first[++depth] = true;
+            return this;
+        }
+
+        JsonWriter endObject() {
+            depth--;
+            sb.append('}');
+            return this;
+        }
+
+        JsonWriter beginArray() {
+            beforeValue();
+            sb.append('[');
+            first[++depth] = true;
+            return this;
+        }
+
+        JsonWriter endArray() {
+            depth--;
+            sb.append(']');
+            return this;
+        }
+
+        JsonWriter name(String name) {
+            separator();
+            string(name);
+            sb.append(':');
+            afterName = true;
+            return this;
+        }
+
+        JsonWriter field(String name, String value) {
+            name(name);
+            beforeValue();
+            string(value);
+            return this;
+        }
+
+        JsonWriter field(String name, double value) {
+            name(name);
+            return value(value);
+        }
+
+        JsonWriter field(String name, long value) {
+            name(name);
+            beforeValue();
+            sb.append(value);
+            return this;
+        }
+
+        JsonWriter field(String name, boolean value) {
+            name(name);
+            beforeValue();
+            sb.append(value);
+            return this;
+        }
+
+        // Inteiros sem ".0" e nunca em notação científica, como no JavaScript
+        JsonWriter value(double value) {
+            beforeValue();
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                sb.append((long) value);
+            } else {
+                sb.append(BigDecimal.valueOf(value).stripTrailingZeros().toPlainString());
+            }
+            return this;
+        }
+
+        private void beforeValue() {
+            if (afterName) {
+                afterName = false;
+            } else {
+                separator();
+            }
+        }
+
+        private void separator() {
+            if (depth == 0) {
+                return;
+            }
+            if (!first[depth]) {
+                sb.append(',');
+            }
+            first[depth] = false;
+        }
+
+        private void string(String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20) {
+                    sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
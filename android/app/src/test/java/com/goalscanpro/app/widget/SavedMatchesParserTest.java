@@ -0,0 +1,233 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+// SavedMatchesParser contra o parser DOM do org.json usado antes, em payloads gerados e malformados
+public class SavedMatchesParserTest {
+
+    @Test
+    public void payloadMinimalIgualAoOrgJson() {
+        assertSameAsOrgJson(generated(5000, SavedAnalysisGenerator.Detail.MINIMAL), 5000);
+    }
+
+    @Test
+    public void payloadTypicalIgualAoOrgJson() {
+        assertSameAsOrgJson(generated(1000, SavedAnalysisGenerator.Detail.TYPICAL), 1000);
+    }
+
+    @Test
+    public void payloadFullIgualAoOrgJson() {
+        assertSameAsOrgJson(generated(500, SavedAnalysisGenerator.Detail.FULL), 500);
+    }
+
+    @Test
+    public void arrayVazio() {
+        assertSameAsOrgJson("[]", 0);
+        assertSameAsOrgJson(" [ ] ", 0);
+    }
+
+    @Test
+    public void literaisNaoNumericosViramPadrao() {
+        String json = "[" + record("\"a\"", "true", "{\"x\":1}", "[1,2]",
+            "{\"status\":\"won\",\"betAmount\":false,\"potentialReturn\":\"abc\",\"resultAt\":true}")
+            + "]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 1);
+        assertEquals(0, matches.get(0).odd, 0);
+        assertEquals(Long.valueOf(0), matches.get(0).resultAt);
+    }
+
+    @Test
+    public void numerosComoString() {
+        String json = "[" + record("\"a\"", "\"1.85\"", "\"0.72\"", "\"-0.05\"",
+            "{\"status\":\"lost\",\"betAmount\":\"10\",\"potentialReturn\":\"18.5\","
+                + "\"resultAt\":\"1717250000000\"}") + "]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 1);
+        assertEquals(1.85, matches.get(0).odd, 0);
+        assertEquals(Long.valueOf(1717250000000L), matches.get(0).resultAt);
+    }
+
+    @Test
+    public void numerosComExpoenteEFracao() {
+        String json = "[{\"id\":\"a\",\"timestamp\":1.7172E12,\"data\":{\"oddOver15\":1e0},"
+            + "\"result\":{\"probabilityOver15\":0.12345678901234567890,\"ev\":-1.5e-3}}]";
+        assertSameAsOrgJson(json, 1);
+    }
+
+    @Test
+    public void nullsViramPadrao() {
+        String json = "[{\"id\":null,\"timestamp\":null,\"data\":{\"homeTeam\":null,"
+            + "\"matchDate\":null,\"oddOver15\":null},\"result\":{\"ev\":null},"
+            + "\"betInfo\":{\"status\":null,\"resultAt\":null}}]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 1);
+        assertEquals("", matches.get(0).id);
+        assertNull(matches.get(0).resultAt);
+    }
+
+    @Test
+    public void registroSemDataOuResultEDescartado() {
+        String json = "[{\"id\":\"a\",\"result\":{}},{\"id\":\"b\",\"data\":{}},"
+            + "{\"id\":\"c\",\"data\":null,\"result\":{}},{\"id\":\"d\",\"data\":{},\"result\":{}}]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 1);
+        assertEquals("d", matches.get(0).id);
+    }
+
+    @Test
+    public void betInfoQueNaoEObjetoDescartaORegistro() {
+        String json = "[" + record("\"a\"", "1.5", "0.8", "0.1", "null") + ","
+            + record("\"b\"", "1.5", "0.8", "0.1", "7") + ","
+            + record("\"c\"", "1.5", "0.8", "0.1", "{}") + "]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 1);
+        assertEquals("c", matches.get(0).id);
+        assertEquals("", matches.get(0).betStatus);
+    }
+
+    @Test
+    public void escapesENomesRepetidos() {
+        String json = "[{\"id\":\"a\\\"1\",\"data\":{\"homeTeam\":\"S\\u00e3o Paulo\","
+            + "\"awayTeam\":\"Gr\\u00eamio\\n\"},\"result\":{}},"
+            + "{\"id\":\"b\",\"data\":{\"homeTeam\":\"Grêmio\\n\",\"awayTeam\":\"São Paulo\"},"
+            + "\"result\":{}}]";
+        List<MatchData> matches = assertSameAsOrgJson(json, 2);
+        assertEquals("São Paulo", matches.get(0).homeTeam);
+        // Dicionário de times: uma instância por nome no parse inteiro
+        assertSame(matches.get(0).homeTeam, matches.get(1).awayTeam);
+        assertSame(matches.get(0).awayTeam, matches.get(1).homeTeam);
+    }
+
+    @Test
+    public void kickoffCalculadoNaIngestao() {
+        List<MatchData> matches = parse("[{\"data\":{\"matchDate\":\"2024-06-01\","
+            + "\"matchTime\":\"16:00\"},\"result\":{}},{\"data\":{\"matchDate\":\"2024-02-30\","
+            + "\"matchTime\":\"16:00\"},\"result\":{}}]");
+        assertEquals(KickoffTime.parse("2024-06-01", "16:00"), matches.get(0).kickoffAt);
+        assertEquals(KickoffTime.UNKNOWN, matches.get(1).kickoffAt);
+    }
+
+    // Diferença documentada: o parser antigo parava no primeiro elemento que não é objeto
+    @Test
+    public void elementoQueNaoEObjetoEIgnorado() {
+        List<MatchData> matches = parse("[1,null,\"x\",[]," + record("\"a\"", "1", "1", "1", "{}")
+            + "]");
+        assertEquals(1, matches.size());
+        assertEquals("a", matches.get(0).id);
+    }
+
+    @Test
+    public void jsonMalformadoFalhaPorInteiro() {
+        String valid = record("\"a\"", "1.5", "0.8", "0.1", "{}");
+        String[] malformed = {
+            "",
+            "{}",
+            "[" + valid,
+            "[" + valid + ",",
+            "[" + valid + " " + valid + "]",
+            "[{\"id\":\"a\"",
+            "[{\"id\":\"a}]",
+            "[{\"id\" \"a\"}]",
+            "[{\"data\":{\"homeTeam\":\"a\"},\"result\":{\"ev\":}}]",
+            "[{\"data\":{\"poisson\":[1,2,{\"x\":[}]},\"result\":{}}]",
+        };
+        for (String json : malformed) {
+            assertThrows(json, IllegalArgumentException.class, () -> parse(json));
+        }
+    }
+
+    private static String generated(int count, SavedAnalysisGenerator.Detail detail) {
+        return SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(count,
+            SavedAnalysisGenerator.DEFAULT_SEED, detail));
+    }
+
+    private static String record(String id, String odd, String probability, String ev,
+                                 String betInfo) {
+        return "{\"id\":" + id + ",\"timestamp\":1717200000000,\"data\":{\"homeTeam\":\"Casa\","
+            + "\"awayTeam\":\"Fora\",\"matchDate\":\"2024-06-01\",\"matchTime\":\"16:00\","
+            + "\"oddOver15\":" + odd + "},\"result\":{\"probabilityOver15\":" + probability
+            + ",\"ev\":" + ev + "},\"betInfo\":" + betInfo + "}";
+    }
+
+    private static List<MatchData> parse(String json) {
+        List<MatchData> matches = new ArrayList<>();
+        SavedMatchesParser.parse(json, matches);
+        return matches;
+    }
+
+    private static List<MatchData> assertSameAsOrgJson(String json, int expectedCount) {
+        List<MatchData> expected = parseWithOrgJson(json);
+        List<MatchData> actual = parse(json);
+        assertEquals(expectedCount, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("partida " + i, describe(expected.get(i)), describe(actual.get(i)));
+            assertEquals("kickoff da partida " + i,
+                KickoffTime.parse(expected.get(i).matchDate, expected.get(i).matchTime),
+                actual.get(i).kickoffAt);
+        }
+        return actual;
+    }
+
+    private static String describe(MatchData match) {
+        return match.id + "|" + match.homeTeam + "|" + match.awayTeam + "|" + match.matchDate
+            + "|" + match.matchTime + "|" + match.odd + "|" + match.probability + "|" + match.ev
+            + "|" + match.betStatus + "|" + match.betAmount + "|" + match.potentialReturn
+            + "|" + match.timestamp + "|" + match.resultAt;
+    }
+
+    // Implementação anterior ao parser em streaming (WidgetDataProvider.getSavedMatches)
+    private static List<MatchData> parseWithOrgJson(String json) {
+        List<MatchData> matches = new ArrayList<>();
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                MatchData match = parseMatchData(array.getJSONObject(i));
+                if (match != null) {
+                    matches.add(match);
+                }
+            }
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return matches;
+    }
+
+    private static MatchData parseMatchData(JSONObject matchObj) {
+        try {
+            MatchData match = new MatchData();
+            match.id = matchObj.optString("id", "");
+            match.timestamp = matchObj.optLong("timestamp", 0);
+
+            JSONObject data = matchObj.getJSONObject("data");
+            match.homeTeam = data.optString("homeTeam", "");
+            match.awayTeam = data.optString("awayTeam", "");
+            match.matchDate = data.optString("matchDate", "");
+            match.matchTime = data.optString("matchTime", "");
+            match.odd = data.optDouble("oddOver15", 0);
+
+            JSONObject result = matchObj.getJSONObject("result");
+            match.probability = result.optDouble("probabilityOver15", 0);
+            match.ev = result.optDouble("ev", 0);
+
+            if (matchObj.has("betInfo")) {
+                JSONObject betInfo = matchObj.getJSONObject("betInfo");
+                match.betStatus = betInfo.optString("status", "");
+                match.betAmount = betInfo.optDouble("betAmount", 0);
+                match.potentialReturn = betInfo.optDouble("potentialReturn", 0);
+                if (betInfo.has("resultAt") && !betInfo.isNull("resultAt")) {
+                    match.resultAt = betInfo.optLong("resultAt");
+                }
+            }
+            return match;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
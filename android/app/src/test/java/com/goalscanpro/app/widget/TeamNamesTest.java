@@ -0,0 +1,102 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class TeamNamesTest {
+
+    @Test
+    public void idsDensosNaOrdemDeChegada() {
+        TeamNames teams = new TeamNames();
+        assertEquals(0, teams.intern("Flamengo"));
+        assertEquals(1, teams.intern("Palmeiras"));
+        assertEquals(0, teams.intern(new String("Flamengo")));
+        assertEquals(2, teams.intern("São Paulo"));
+        assertEquals(3, teams.size());
+        assertArrayEquals(new Object[] {"Flamengo", "Palmeiras", "São Paulo"}, teams.toArray());
+    }
+
+    @Test
+    public void umaInstanciaPorNome() {
+        TeamNames teams = new TeamNames();
+        String first = new String("Grêmio");
+        int id = teams.intern(first);
+        assertEquals(id, teams.intern(new String("Grêmio")));
+        assertSame(first, teams.name(id));
+    }
+
+    @Test
+    public void trechoDoTextoIgualAoNomeInteiro() {
+        TeamNames teams = new TeamNames();
+        String json = "{\"homeTeam\":\"Atlético-MG\",\"awayTeam\":\"Cruzeiro\"}";
+        int home = teams.intern(json, 13, 24);
+        int away = teams.intern(json, 38, 46);
+        assertEquals("Atlético-MG", teams.name(home));
+        assertEquals("Cruzeiro", teams.name(away));
+        assertEquals(home, teams.intern("Atlético-MG"));
+        assertEquals(away, teams.intern("xxCruzeiroxx", 2, 10));
+        // Prefixo de um nome existente é outro time
+        assertEquals(2, teams.intern(json, 38, 43));
+        assertEquals("Cruze", teams.name(2));
+    }
+
+    @Test
+    public void hashesIguaisNaoSeConfundem() {
+        TeamNames teams = new TeamNames();
+        // "Aa" e "BB" têm o mesmo hashCode
+        int aa = teams.intern("Aa");
+        int bb = teams.intern("BB");
+        assertEquals(1, bb);
+        assertEquals(aa, teams.intern("_Aa_", 1, 3));
+        assertEquals(bb, teams.intern("_BB_", 1, 3));
+        assertEquals(aa, teams.intern("Aa"));
+    }
+
+    @Test
+    public void nuloEVazioSaoOMesmoNome() {
+        TeamNames teams = new TeamNames();
+        int empty = teams.intern(null);
+        assertEquals(empty, teams.intern(""));
+        assertEquals(empty, teams.intern("abc", 1, 1));
+        assertEquals("", teams.name(empty));
+    }
+
+    @Test
+    public void cresceAlemDaCapacidadeInicial() {
+        TeamNames teams = new TeamNames(4);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String name = "Time " + random.nextInt(5000);
+            Integer id = expected.get(name);
+            int interned = i % 2 == 0 ? teams.intern(name) : teams.intern("[" + name + "]", 1, name.length() + 1);
+            if (id == null) {
+                assertEquals(expected.size(), interned);
+                expected.put(name, interned);
+            } else {
+                assertEquals(name, id.intValue(), interned);
+            }
+        }
+        assertEquals(expected.size(), teams.size());
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), teams.name(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void toArrayDevolveCopia() {
+        TeamNames teams = new TeamNames();
+        teams.intern("Bahia");
+        String[] names = teams.toArray();
+        names[0] = "Vitória";
+        assertEquals("Bahia", teams.name(0));
+        assertNotSame(names, teams.toArray());
+    }
+}
@@ -0,0 +1,114 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import org.junit.Test;
+
+// Escolha do próximo alarme: início, início − 24 h, início − 48 h ou meia-noite local
+public class WidgetAlarmSchedulerTest {
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    public void semPartidaFuturaValeAMeiaNoite() {
+        long now = at(SAO_PAULO, 2024, 6, 1, 15, 30);
+        assertEquals(midnightAfter(SAO_PAULO, 2024, 6, 1),
+            WidgetAlarmScheduler.nextRefreshAt(index(), now, zone(SAO_PAULO)));
+    }
+
+    @Test
+    public void partidaAnteriorANowEIgnorada() {
+        long now = at(SAO_PAULO, 2024, 6, 1, 15, 30);
+        // Já começou (e a que começa exatamente agora também não é "próxima")
+        KickoffIndex kickoffs = index(now - 2 * HOUR_MS, now - 3 * 24 * HOUR_MS, now);
+        assertEquals(midnightAfter(SAO_PAULO, 2024, 6, 1),
+            WidgetAlarmScheduler.nextRefreshAt(kickoffs, now, zone(SAO_PAULO)));
+    }
+
+    @Test
+    public void proximoInicioAntesDaMeiaNoite() {
+        long now = at(SAO_PAULO, 2024, 6, 1, 15, 30);
+        long kickoff = at(SAO_PAULO, 2024, 6, 1, 20, 0);
+        assertEquals(kickoff,
+            WidgetAlarmScheduler.nextRefreshAt(index(now - HOUR_MS, kickoff), now, zone(SAO_PAULO)));
+    }
+
+    @Test
+    public void trocasDeRotuloHojeEAmanha() {
+        long now = at(SAO_PAULO, 2024, 6, 1, 8, 0);
+        // Começa em 24 h + 2 h: vira "Hoje" às 10:00 de hoje, antes da meia-noite
+        long tomorrow = now + 26 * HOUR_MS;
+        assertEquals(tomorrow - 24 * HOUR_MS,
+            WidgetAlarmScheduler.nextRefreshAt(index(tomorrow), now, zone(SAO_PAULO)));
+        // Começa em 48 h + 1 h: vira "Amanhã" às 09:00 de hoje
+        long later = now + 49 * HOUR_MS;
+        assertEquals(later - 48 * HOUR_MS,
+            WidgetAlarmScheduler.nextRefreshAt(index(later), now, zone(SAO_PAULO)));
+        // Já dentro das 24 h: as trocas de rótulo ficaram no passado, só o próprio início conta
+        long soon = now + 3 * HOUR_MS;
+        assertEquals(soon, WidgetAlarmScheduler.nextRefreshAt(index(soon), now, zone(SAO_PAULO)));
+        // Com várias partidas vale o menor candidato: "Amanhã" de later (09:00)
+        assertEquals(later - 48 * HOUR_MS, WidgetAlarmScheduler.nextRefreshAt(
+            index(soon, tomorrow, later), now, zone(SAO_PAULO)));
+    }
+
+    @Test
+    public void meiaNoiteEmDiasDeHorarioDeVerao() {
+        // Berlim: dia de 23 h (31/03/2024) e de 25 h (27/10/2024)
+        assertEquals(midnightAfter(BERLIN, 2024, 3, 30), WidgetAlarmScheduler.nextRefreshAt(
+            index(), at(BERLIN, 2024, 3, 30, 12, 0), zone(BERLIN)));
+        assertEquals(midnightAfter(BERLIN, 2024, 3, 31), WidgetAlarmScheduler.nextRefreshAt(
+            index(), at(BERLIN, 2024, 3, 31, 1, 30), zone(BERLIN)));
+        assertEquals(midnightAfter(BERLIN, 2024, 10, 27), WidgetAlarmScheduler.nextRefreshAt(
+            index(), at(BERLIN, 2024, 10, 27, 2, 30), zone(BERLIN)));
+        assertEquals(24 * HOUR_MS - HOUR_MS,
+            midnightAfter(BERLIN, 2024, 3, 31) - midnightAfter(BERLIN, 2024, 3, 30));
+
+        // São Paulo, 04/11/2018: o relógio pulou de 00:00 para 01:00, o dia começa à 01:00
+        long start = midnightAfter(SAO_PAULO, 2018, 11, 3);
+        assertEquals(LocalDateTime.of(2018, 11, 4, 1, 0).atZone(SAO_PAULO).toInstant().toEpochMilli(),
+            start);
+        assertEquals(start, WidgetAlarmScheduler.nextRefreshAt(
+            index(), at(SAO_PAULO, 2018, 11, 3, 22, 0), zone(SAO_PAULO)));
+    }
+
+    @Test
+    public void rotuloAntesDaMeiaNoiteNoDiaDeHorarioDeVerao() {
+        long now = at(BERLIN, 2024, 3, 31, 10, 0);
+        // As trocas de rótulo são em horas corridas: o dia mais curto não as desloca
+        long kickoff = now + 24 * HOUR_MS + 30 * 60 * 1000L;
+        assertEquals(kickoff - 24 * HOUR_MS,
+            WidgetAlarmScheduler.nextRefreshAt(index(kickoff), now, zone(BERLIN)));
+    }
+
+    private static KickoffIndex index(long... kickoffs) {
+        List<MatchData> matches = new ArrayList<>();
+        for (long kickoff : kickoffs) {
+            MatchData match = new MatchData();
+            match.kickoffAt = kickoff;
+            matches.add(match);
+        }
+        return KickoffIndex.build(matches);
+    }
+
+    private static long at(ZoneId zone, int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    // Início do dia seguinte a year-month-day (java.time resolve o buraco do horário de verão)
+    private static long midnightAfter(ZoneId zone, int year, int month, int day) {
+        return LocalDate.of(year, month, day).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private static TimeZone zone(ZoneId zone) {
+        return TimeZone.getTimeZone(zone);
+    }
+}
@@ -0,0 +1,106 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+
+// Valores monetários contra o NumberFormat pt-BR (com espaço comum no lugar do NBSP)
+public class WidgetFormatTest {
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    // CURRENCY_SYMBOLS de src/utils/currency.ts: código ISO e símbolo exibido
+    private static final String[][] APP_CURRENCIES = {
+        {"BRL", "R$"}, {"USD", "$"}, {"EUR", "€"}, {"GBP", "£"},
+    };
+
+    private static final double[] VALUES = {
+        0, 0.01, 0.1, 1, 12.34, 999.99, 1000, 1234.5, 1234567.891,
+        // Empates em .005: o double pode estar abaixo ou acima do empate decimal
+        0.005, 0.015, 0.025, 0.125, 0.375, 1.005, 1.115, 2.675, 10.045, 999.995, 1234.565,
+        // Negativos
+        -0.005, -0.015, -1, -1.115, -10.5, -1234.567, -999999.995,
+        // Acima do caminho rápido
+        999999999999.99, 1e12, 123456789012345.67, 9.99e15, 1e20, -1e13,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+    };
+
+    @Test
+    public void comoONumberFormatEmReais() {
+        for (double value : VALUES) {
+            assertEquals(String.valueOf(value), expected(value, "R$"),
+                WidgetFormat.currency(value, "BRL"));
+        }
+    }
+
+    @Test
+    public void arredondamentoEmTodosOsEmpatesDe005() {
+        for (int cents = 0; cents < 200000; cents++) {
+            double tie = cents / 100.0 + 0.005;
+            assertEquals(String.valueOf(tie), expected(tie, "R$"), WidgetFormat.currency(tie, "BRL"));
+            assertEquals(String.valueOf(-tie), expected(-tie, "R$"),
+                WidgetFormat.currency(-tie, "BRL"));
+        }
+    }
+
+    @Test
+    public void valoresAleatorios() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16));
+            assertEquals(String.valueOf(value), expected(value, "R$"),
+                WidgetFormat.currency(value, "BRL"));
+        }
+    }
+
+    @Test
+    public void todosOsSimbolosDoApp() {
+        for (String[] currency : APP_CURRENCIES) {
+            String code = currency[0];
+            String symbol = currency[1];
+            // Código em qualquer caixa ou o próprio símbolo (dados antigos) dão o mesmo texto
+            for (String input : new String[] {code, code.toLowerCase(Locale.ROOT), symbol}) {
+                assertEquals(symbol, WidgetFormat.currencySymbol(input));
+                for (double value : VALUES) {
+                    assertEquals(input + " " + value, expected(value, symbol),
+                        WidgetFormat.currency(value, input));
+                }
+            }
+        }
+        // Sem moeda informada: real, como no app
+        assertEquals(expected(12.5, "R$"), WidgetFormat.currency(12.5, null));
+        assertEquals(expected(12.5, "R$"), WidgetFormat.currency(12.5, ""));
+    }
+
+    @Test
+    public void zeroNegativoSemSinal() {
+        // Único desvio intencional: o NumberFormat escreve "-R$ 0,00"
+        assertEquals("R$ 0,00", WidgetFormat.currency(-0.0, "BRL"));
+        assertEquals("R$ 0,00", WidgetFormat.currency(-0.004, "BRL"));
+        assertEquals("+R$ 0,00", WidgetFormat.signedCurrency(-0.004, "BRL"));
+    }
+
+    @Test
+    public void variacaoSempreComSinal() {
+        for (double value : VALUES) {
+            String plain = expected(value, "R$");
+            String signed = plain.startsWith("-") || Double.isNaN(value) ? plain : "+" + plain;
+            assertEquals(String.valueOf(value), signed, WidgetFormat.signedCurrency(value, "BRL"));
+        }
+    }
+
+    private static String expected(double value, String symbol) {
+        DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(PT_BR);
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        symbols.setCurrencySymbol(symbol);
+        format.setDecimalFormatSymbols(symbols);
+        String text = format.format(value).replace('\u00A0', ' ');
+        // Zero negativo sem sinal (ver zeroNegativoSemSinal)
+        return text.equals("-" + symbol + " 0,00") ? text.substring(1) : text;
+    }
+}
@@ -0,0 +1,132 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// Regras de revisão do store e agregado incremental contra a reconstrução completa
+public class WidgetMatchStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private WidgetMatchStore store;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), WidgetSnapshotFile.FILE_NAME);
+        store = new WidgetMatchStore(file);
+        store.load(new WidgetSnapshotFile.Contents(0, MatchTable.EMPTY, new WidgetStatsAggregate()));
+    }
+
+    @Test
+    public void upsertComRevisaoAntigaOuIgualEDescartado() throws IOException {
+        assertTrue(store.upsert(Arrays.asList(match("a", "won", 10, 15),
+            match("b", "pending", 5, 8), match("c", "lost", 20, 30)), 5));
+        assertConsistent(5, "a", "b", "c");
+
+        // Mesma revisão: chegou fora de ordem, nada muda (nem o status de "a")
+        assertFalse(store.upsert(Collections.singletonList(match("a", "lost", 10, 15)), 5));
+        assertFalse(store.upsert(Collections.singletonList(match("d", "won", 1, 2)), 4));
+        assertConsistent(5, "a", "b", "c");
+        assertEquals(1, WidgetSnapshotFile.read(file).stats.wonCount);
+
+        // Revisão nova: "a" troca de status no agregado e "d" entra no fim
+        assertTrue(store.upsert(Arrays.asList(match("a", "lost", 10, 15),
+            match("d", "won", 1, 2)), 6));
+        assertConsistent(6, "a", "b", "c", "d");
+        assertEquals(1, WidgetSnapshotFile.read(file).stats.wonCount);
+        assertEquals(2, WidgetSnapshotFile.read(file).stats.lostCount);
+    }
+
+    @Test
+    public void deleteComRevisaoAntigaOuIgualEDescartado() throws IOException {
+        store.upsert(Arrays.asList(match("a", "won", 10, 15), match("b", "lost", 5, 0)), 3);
+
+        assertFalse(store.delete(Collections.singletonList("a"), 3));
+        assertFalse(store.delete(Collections.singletonList("a"), 2));
+        assertConsistent(3, "a", "b");
+
+        assertTrue(store.delete(Collections.singletonList("a"), 4));
+        assertConsistent(4, "b");
+    }
+
+    @Test
+    public void deleteDeIdDesconhecidoSoAvancaARevisao() throws IOException {
+        store.upsert(Arrays.asList(match("a", "won", 10, 15), match("b", "lost", 5, 0)), 3);
+
+        assertTrue(store.delete(Arrays.asList("nao-existe", "b", "b"), 4));
+        assertConsistent(4, "a");
+        assertTrue(store.delete(Collections.singletonList("nao-existe"), 5));
+        assertConsistent(5, "a");
+    }
+
+    @Test
+    public void replaceAllComRevisaoAntigaAvancaARevisao() throws IOException {
+        store.upsert(Arrays.asList(match("a", "won", 10, 15), match("b", "lost", 5, 0)), 8);
+
+        // Carga completa é autoritativa: aplicada mesmo com revisão antiga, em revision + 1
+        store.replaceAll(Arrays.asList(match("x", "pending", 1, 2), match("y", "won", 3, 9)), 2);
+        assertConsistent(9, "x", "y");
+
+        store.replaceAll(Collections.singletonList(match("z", "lost", 4, 0)), 20);
+        assertConsistent(20, "z");
+
+        // Revisão igual à atual também avança uma posição
+        store.replaceAll(new ArrayList<>(), 20);
+        assertConsistent(21);
+    }
+
+    // Revisão, partidas na ordem de inserção e agregado mantido == reconstrução completa
+    private void assertConsistent(long revision, String... ids) throws IOException {
+        assertEquals(revision, store.getRevision());
+        assertEquals(ids.length, store.size());
+
+        WidgetSnapshotFile.Contents written = WidgetSnapshotFile.read(file);
+        assertEquals(revision, written.revision);
+        List<String> writtenIds = new ArrayList<>();
+        for (int row = 0; row < written.matches.size(); row++) {
+            writtenIds.add(written.matches.id(row));
+        }
+        assertEquals(Arrays.asList(ids), writtenIds);
+
+        WidgetStatsAggregate expected = WidgetStatsAggregate.rebuild(written.matches);
+        WidgetStatsAggregate actual = written.stats;
+        assertEquals(expected.totalMatches, actual.totalMatches);
+        assertEquals(expected.positiveEVCount, actual.positiveEVCount);
+        assertEquals(expected.wonCount, actual.wonCount);
+        assertEquals(expected.lostCount, actual.lostCount);
+        assertEquals(expected.profitCents, actual.profitCents);
+    }
+
+    private static MatchData match(String id, String status, double betAmount,
+                                   double potentialReturn) {
+        MatchData match = new MatchData();
+        match.id = id;
+        match.homeTeam = "Casa " + id;
+        match.awayTeam = "Fora " + id;
+        match.matchDate = "2024-06-01";
+        match.matchTime = "16:00";
+        match.probability = 0.7;
+        match.ev = "won".equals(status) ? 0.1 : -0.05;
+        match.odd = 1.5;
+        match.betStatus = status;
+        match.betAmount = betAmount;
+        match.potentialReturn = potentialReturn;
+        match.timestamp = 1717000000000L;
+        match.kickoffAt = KickoffTime.parse(match.matchDate, match.matchTime);
+        return match;
+    }
+}
@@ -0,0 +1,93 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+// Prazos do agrupamento de atualizações com um relógio falso
+public class WidgetRefreshSchedulerTest {
+
+    private long now;
+    private final WidgetRefreshScheduler.Debounce debounce =
+        new WidgetRefreshScheduler.Debounce(() -> now);
+
+    @Test
+    public void pedidoIsoladoEsperaAJanela() {
+        now = 5000;
+        assertEquals(5250, debounce.request());
+        assertTrue(debounce.fire());
+        assertFalse(debounce.fire());
+    }
+
+    @Test
+    public void cadaPedidoAdiaODisparoDentroDaLatenciaMaxima() {
+        now = 0;
+        assertEquals(250, debounce.request());
+        now = 200;
+        assertEquals(450, debounce.request());
+        now = 700;
+        assertEquals(950, debounce.request());
+        // Daqui em diante o limite é 1000 ms após o primeiro pedido
+        now = 800;
+        assertEquals(1000, debounce.request());
+        now = 999;
+        assertEquals(1000, debounce.request());
+    }
+
+    @Test
+    public void rajadaContinuaDisparaNoLimiteDeLatencia() {
+        // Um pedido a cada 100 ms por 3,5 s: a janela nunca fica quieta
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L, 3750L), simulate(0, 3500, 100));
+        // Pedidos mais espaçados que a janela: cada um dispara sozinho
+        assertEquals(Arrays.asList(250L, 550L, 850L), simulate(0, 600, 300));
+    }
+
+    @Test
+    public void rajadaComIntervaloNaoMultiploDaLatencia() {
+        List<Long> fires = simulate(0, 5000, 70);
+        long first = 0;
+        for (long fire : fires) {
+            // Cada rajada começa no primeiro pedido a partir do disparo anterior
+            assertTrue(fire + " <= " + (first + 1000), fire <= first + 1000);
+            first = (fire + 69) / 70 * 70;
+        }
+        // Rajadas começando em 0, 1050, 2100, 3150 e 4200: todas cortadas pelo limite
+        assertEquals(Arrays.asList(1000L, 2050L, 3100L, 4150L, 5200L), fires);
+    }
+
+    @Test
+    public void configuracao() {
+        // Janela 0 desliga o agrupamento; latência menor que a janela sobe para a janela
+        debounce.configure(0, 1000);
+        now = 10;
+        assertEquals(10, debounce.request());
+        debounce.fire();
+        debounce.configure(500, 100);
+        assertEquals(500, debounce.maxLatencyMs);
+        assertEquals(510, debounce.request());
+        assertEquals(1100, WidgetRefreshScheduler.Debounce.deadline(900, 100, 250, 1000));
+        assertEquals(1150, WidgetRefreshScheduler.Debounce.deadline(900, 500, 250, 1000));
+    }
+
+    // Pedidos de start a end a cada step ms; dispara quando o relógio alcança o prazo agendado
+    private List<Long> simulate(long start, long end, long step) {
+        List<Long> fires = new ArrayList<>();
+        long scheduled = Long.MAX_VALUE;
+        for (long at = start; at <= end; at += step) {
+            if (scheduled <= at && debounce.fire()) {
+                fires.add(scheduled);
+            }
+            now = at;
+            scheduled = debounce.request();
+        }
+        if (debounce.fire()) {
+            fires.add(scheduled);
+        }
+        return fires;
+    }
+}
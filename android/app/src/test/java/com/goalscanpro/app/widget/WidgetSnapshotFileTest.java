@@ -0,0 +1,260 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// Ida e volta pelo único formato gravado pelo app
+public class WidgetSnapshotFileTest {
+
+    private static final long FIXTURE_REVISION = 7;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void idaEVoltaDasPartidas() throws IOException {
+        List<MatchData> expected = fixtureMatches();
+        WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(fixture());
+
+        assertEquals(FIXTURE_REVISION, contents.revision);
+        assertEquals(expected.size(), contents.matches.size());
+        for (int row = 0; row < expected.size(); row++) {
+            MatchData match = contents.matches.get(row);
+            assertEquals("linha " + row, describe(expected.get(row)), describe(match));
+            assertEquals("kickoff da linha " + row, expected.get(row).kickoffAt, match.kickoffAt);
+        }
+        assertStats("fixture", WidgetStatsAggregate.rebuild(expected), contents.stats);
+        assertFalse(new File(fixture().getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void proximasPartidasEmOrdemDeInicio() throws IOException {
+        WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(fixture());
+        // Sem data (a5) fica fora; a3 é a única no futuro distante
+        assertEquals(Arrays.asList("a1", "a2", "a4", "a6", "a7", "a3"),
+            ids(contents.kickoffs.next(contents.matches, 0, Integer.MAX_VALUE)));
+        long june3 = KickoffTime.parse("2024-06-03", "00:00");
+        assertEquals(Arrays.asList("a4", "a6"),
+            ids(contents.kickoffs.next(contents.matches, june3, 2)));
+    }
+
+    @Test
+    public void timesComUmaInstanciaPorNome() throws IOException {
+        MatchTable table = WidgetSnapshotFile.read(fixture()).matches;
+        assertEquals(8, table.teams.length);
+        assertEquals(table.homeTeam.get(0), table.awayTeam.get(2));
+        assertSame(table.get(0).homeTeam, table.get(5).homeTeam);
+    }
+
+    @Test
+    public void colunasLidasDoArquivoMapeado() throws IOException {
+        WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(fixture());
+        // Views sobre o mapeamento, não arrays copiados na abertura
+        assertFalse(contents.matches.odd.hasArray());
+        assertFalse(contents.matches.kickoffAt.hasArray());
+        assertFalse(contents.matches.status.hasArray());
+        assertEquals(1.45, contents.matches.odd.get(0), 0);
+        assertEquals(fixtureMatches().get(6).kickoffAt, contents.matches.kickoffAt.get(6));
+    }
+
+    @Test
+    public void paginasDasApostasResolvidas() throws IOException {
+        File file = fixture();
+        // a2 não tem resultAt: vale a data da análise, a mais antiga das três
+        WidgetSnapshotFile.Settled settled = WidgetSnapshotFile.readSettled(file);
+        assertEquals(3, settled.total);
+        assertEquals(Arrays.asList("a6", "a1"), ids(settled.page(0, 2)));
+        assertEquals(Arrays.asList("a2"), ids(settled.page(2, 2)));
+        assertEquals(0, settled.page(5, 2).size());
+        // Páginas relidas do mesmo arquivo aberto, fora de ordem
+        assertEquals(Arrays.asList("a1", "a2"), ids(settled.page(1, 20)));
+        // Mesma ordem exposta pela fotografia completa
+        assertEquals(Arrays.asList("a6", "a1", "a2"),
+            ids(WidgetSnapshotFile.read(file).settled.page(0, 10)));
+    }
+
+    @Test
+    public void idaEVoltaComPayloadGerado() throws IOException {
+        for (SavedAnalysisGenerator.Detail detail : SavedAnalysisGenerator.Detail.values()) {
+            List<MatchData> matches = new ArrayList<>();
+            SavedMatchesParser.parse(SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(
+                2000, SavedAnalysisGenerator.DEFAULT_SEED, detail)), matches);
+            File file = folder.newFile("generated-" + detail + ".bin");
+            WidgetSnapshotFile.write(file, 42, matches, WidgetStatsAggregate.rebuild(matches));
+
+            WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(file);
+            assertEquals(42, contents.revision);
+            assertEquals(42, WidgetSnapshotFile.readRevision(file));
+            List<MatchData> read = contents.matches.toList();
+            assertEquals(describeAll(matches), describeAll(read));
+            for (int i = 0; i < matches.size(); i++) {
+                assertEquals(matches.get(i).kickoffAt, read.get(i).kickoffAt);
+            }
+            assertStats(detail.name(), WidgetStatsAggregate.rebuild(matches), contents.stats);
+        }
+    }
+
+    @Test
+    public void fotografiaVazia() throws IOException {
+        File file = folder.newFile("empty.bin");
+        WidgetSnapshotFile.write(file, 1, new ArrayList<>(), new WidgetStatsAggregate());
+        WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(file);
+        assertEquals(0, contents.matches.size());
+        assertEquals(0, contents.kickoffs.size());
+        assertEquals(0, WidgetSnapshotFile.readSettled(file).total);
+    }
+
+    @Test
+    public void agregadoDeOutraRevisaoEIgnorado() throws IOException {
+        File file = copyOf(fixture(), "other-revision.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Revisão do cabeçalho (offset 8) diferente da gravada junto com o agregado
+            raf.seek(8);
+            raf.write(new byte[] {8, 0, 0, 0, 0, 0, 0, 0});
+        }
+        assertNull(WidgetSnapshotFile.read(file).stats);
+    }
+
+    @Test
+    public void arquivoAusente() throws IOException {
+        File missing = new File(folder.getRoot(), "missing.bin");
+        assertNull(WidgetSnapshotFile.read(missing));
+        assertNull(WidgetSnapshotFile.readSettled(missing));
+        assertEquals(0, WidgetSnapshotFile.readRevision(missing));
+    }
+
+    @Test
+    public void arquivoInvalidoOuDeFormatoFuturo() throws IOException {
+        File future = copyOf(fixture(), "future.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(future, "rw")) {
+            raf.seek(4);
+            raf.writeInt(Integer.reverseBytes(formatOf(future) + 1));
+        }
+        File badMagic = copyOf(fixture(), "bad-magic.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(badMagic, "rw")) {
+            raf.write('X');
+        }
+        File truncated = folder.newFile("truncated.bin");
+        Files.write(truncated.toPath(), new byte[] {'G', 'S', 'W', 'S', 1, 0, 0, 0});
+
+        for (File file : new File[] {future, badMagic, truncated}) {
+            assertThrows(file.getName(), IOException.class, () -> WidgetSnapshotFile.read(file));
+        }
+        assertThrows(IOException.class, () -> WidgetSnapshotFile.readRevision(future));
+        assertThrows(IOException.class, () -> WidgetSnapshotFile.readRevision(badMagic));
+    }
+
+    // Partidas da fixture, na ordem gravada
+    static List<MatchData> fixtureMatches() {
+        return new ArrayList<>(Arrays.asList(
+            match("a1", "Flamengo", "Palmeiras", "2024-06-01", "16:00", 0.78, 0.12, 1.45, "won",
+                10, 14.5, 1717000000000L, 1717260000000L),
+            match("a2", "São Paulo", "Grêmio", "2024-06-02", "18:30", 0.65, -0.03, 1.3, "lost",
+                20, 26, 1717000100000L, null),
+            match("a3", "Palmeiras", "Flamengo", "2030-01-15", "21:00", 0.81, 0.2, 1.6, "pending",
+                15, 24, 1717000200000L, null),
+            match("a4", "Atlético-MG", "Cruzeiro", "2024-06-03", "20:00", 0.7, 0.05, 1.5,
+                "cancelled", 5, 7.5, 1717000300000L, 1717400000000L),
+            match("a5", "Bahia", "Vitória", "", "", 0.5, 0, 1.2, null,
+                0, 0, 1717000400000L, null),
+            match("a6", "Flamengo", "São Paulo", "2024-06-04", "19:00", 0.9, 0.3, 1.25, "won",
+                50, 62.5, 1717000500000L, 1717500000000L),
+            // Status desconhecido é gravado como "outro" e lido como ""
+            match("a7", "Cruzeiro", "Bahia", "2024-06-05", "09:05", 0.6, 0.01, 1.4, "void",
+                8, 0, 1717000600000L, null)));
+    }
+
+    private static MatchData match(String id, String homeTeam, String awayTeam, String date,
+                                   String time, double probability, double ev, double odd,
+                                   String status, double betAmount, double potentialReturn,
+                                   long timestamp, Long resultAt) {
+        MatchData match = new MatchData();
+        match.id = id;
+        match.homeTeam = homeTeam;
+        match.awayTeam = awayTeam;
+        match.matchDate = date;
+        match.matchTime = time;
+        match.probability = probability;
+        match.ev = ev;
+        match.odd = odd;
+        match.betStatus = status;
+        match.betAmount = betAmount;
+        match.potentialReturn = potentialReturn;
+        match.timestamp = timestamp;
+        match.resultAt = resultAt;
+        match.kickoffAt = KickoffTime.parse(date, time);
+        return match;
+    }
+
+    // Fixture gravada pelo formato atual, uma vez por teste
+    private File fixture() throws IOException {
+        File file = new File(folder.getRoot(), "fixture.bin");
+        if (!file.exists()) {
+            WidgetSnapshotFile.write(file, FIXTURE_REVISION, fixtureMatches(),
+                WidgetStatsAggregate.rebuild(fixtureMatches()));
+        }
+        return file;
+    }
+
+    private File copyOf(File source, String name) throws IOException {
+        File copy = new File(folder.getRoot(), name);
+        Files.copy(source.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    private static int formatOf(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(4);
+            return Integer.reverseBytes(raf.readInt());
+        }
+    }
+
+    private static void assertStats(String label, WidgetStatsAggregate expected,
+                                    WidgetStatsAggregate actual) {
+        assertEquals(label, expected.totalMatches, actual.totalMatches);
+        assertEquals(label, expected.positiveEVCount, actual.positiveEVCount);
+        assertEquals(label, expected.wonCount, actual.wonCount);
+        assertEquals(label, expected.lostCount, actual.lostCount);
+        assertEquals(label, expected.profitCents, actual.profitCents);
+    }
+
+    private static List<String> ids(List<MatchData> matches) {
+        List<String> ids = new ArrayList<>(matches.size());
+        for (MatchData match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+
+    private static List<String> describeAll(List<MatchData> matches) {
+        List<String> described = new ArrayList<>(matches.size());
+        for (MatchData match : matches) {
+            described.add(describe(match));
+        }
+        return described;
+    }
+
+    // Campos persistidos, exceto kickoffAt; status pelo código gravado
+    private static String describe(MatchData match) {
+        return match.id + "|" + match.homeTeam + "|" + match.awayTeam + "|" + match.matchDate
+            + "|" + match.matchTime + "|" + match.odd + "|" + match.probability + "|" + match.ev
+            + "|" + MatchTable.decodeStatus(MatchTable.encodeStatus(match.betStatus))
+            + "|" + match.betAmount + "|" + match.potentialReturn + "|" + match.timestamp
+            + "|" + match.resultAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.goalscanpro.app.widget;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class WidgetStatsAggregateTest {
+
+    @Test
+    public void insercoesERemocoesNaoAcumulamResiduo() {
+        List<MatchData> matches = new ArrayList<>();
+        SavedMatchesParser.parse(SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(
+            5000, SavedAnalysisGenerator.DEFAULT_SEED, SavedAnalysisGenerator.Detail.MINIMAL)),
+            matches);
+        WidgetStatsAggregate aggregate = new WidgetStatsAggregate();
+        WidgetStatsAggregate expected = WidgetStatsAggregate.rebuild(matches.subList(0, 100));
+        // Mesmo caminho do upsert: retira e soma de novo, muitas vezes
+        for (MatchData match : matches) {
+            aggregate.add(match);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (MatchData match : matches) {
+                aggregate.remove(match);
+                aggregate.add(match);
+            }
+        }
+        for (MatchData match : matches.subList(100, matches.size())) {
+            aggregate.remove(match);
+        }
+        assertEquals(expected.profitCents, aggregate.profitCents);
+        assertEquals(expected.totalProfit(), aggregate.totalProfit(), 0);
+        assertEquals(100, aggregate.totalMatches);
+    }
+
+    @Test
+    public void lucroEmCentavos() {
+        WidgetStatsAggregate aggregate = new WidgetStatsAggregate();
+        aggregate.add(settled("won", 10.1, 20.3));
+        aggregate.add(settled("lost", 0.7, 0));
+        aggregate.add(settled("pending", 99, 150));
+        assertEquals(950, aggregate.profitCents);
+        assertEquals(9.5, aggregate.toStats(null).totalProfit, 0);
+    }
+
+    private static MatchData settled(String status, double betAmount, double potentialReturn) {
+        MatchData match = new MatchData();
+        match.betStatus = status;
+        match.betAmount = betAmount;
+        match.potentialReturn = potentialReturn;
+        return match;
+    }
+}
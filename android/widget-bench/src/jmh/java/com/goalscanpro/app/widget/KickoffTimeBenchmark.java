@@ -0,0 +1,58 @@
+package com.goalscanpro.app.widget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// KickoffTime.parse contra split + Calendar
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class KickoffTimeBenchmark {
+
+    @Param({"100", "1000", "5000", "10000", "50000"})
+    public int size;
+
+    private String[] dates;
+    private String[] times;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<MatchData> matches = new ArrayList<>();
+        SavedMatchesParser.parse(SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(size,
+            SavedAnalysisGenerator.DEFAULT_SEED, SavedAnalysisGenerator.Detail.MINIMAL)), matches);
+        dates = new String[matches.size()];
+        times = new String[matches.size()];
+        for (int i = 0; i < matches.size(); i++) {
+            dates[i] = matches.get(i).matchDate;
+            times[i] = matches.get(i).matchTime;
+        }
+    }
+
+    @Benchmark
+    public long parse() {
+        long sum = 0;
+        for (int i = 0; i < dates.length; i++) {
+            sum += KickoffTime.parse(dates[i], times[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseLegacy() {
+        long sum = 0;
+        for (int i = 0; i < dates.length; i++) {
+            sum += LegacyWidgetData.parseKickoff(dates[i], times[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,128 @@
+package com.goalscanpro.app.widget;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Caminho antigo dos widgets (org.json, split + Calendar, ordenação completa), só para os benchmarks
+final class LegacyWidgetData {
+
+    private LegacyWidgetData() {
+    }
+
+    static List<MatchData> parseSavedMatches(String matchesJson) {
+        List<MatchData> matches = new ArrayList<>();
+        try {
+            JSONArray jsonArray = new JSONArray(matchesJson);
+            for (int i = 0; i < jsonArray.length(); i++) {
+                MatchData match = parseMatchData(jsonArray.getJSONObject(i));
+                if (match != null) {
+                    matches.add(match);
+                }
+            }
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return matches;
+    }
+
+    private static MatchData parseMatchData(JSONObject matchObj) {
+        try {
+            MatchData match = new MatchData();
+            match.id = matchObj.optString("id", "");
+            match.timestamp = matchObj.optLong("timestamp", 0);
+
+            JSONObject data = matchObj.getJSONObject("data");
+            match.homeTeam = data.optString("homeTeam", "");
+            match.awayTeam = data.optString("awayTeam", "");
+            match.matchDate = data.optString("matchDate", "");
+            match.matchTime = data.optString("matchTime", "");
+            match.odd = data.optDouble("oddOver15", 0);
+
+            JSONObject result = matchObj.getJSONObject("result");
+            match.probability = result.optDouble("probabilityOver15", 0);
+            match.ev = result.optDouble("ev", 0);
+
+            if (matchObj.has("betInfo")) {
+                JSONObject betInfo = matchObj.getJSONObject("betInfo");
+                match.betStatus = betInfo.optString("status", "");
+                match.betAmount = betInfo.optDouble("betAmount", 0);
+                match.potentialReturn = betInfo.optDouble("potentialReturn", 0);
+                if (betInfo.has("resultAt") && !betInfo.isNull("resultAt")) {
+                    match.resultAt = betInfo.optLong("resultAt");
+                }
+            }
+            return match;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    static List<MatchData> getUpcomingMatches(List<MatchData> allMatches, long now) {
+        List<MatchData> upcoming = new ArrayList<>();
+        for (MatchData match : allMatches) {
+            if (match.matchDate != null && !match.matchDate.isEmpty()
+                    && match.matchTime != null && !match.matchTime.isEmpty()) {
+                long matchTime = getMatchTimestamp(match);
+                if (matchTime != 0 && matchTime > now) {
+                    upcoming.add(match);
+                }
+            }
+        }
+        Collections.sort(upcoming, new Comparator<MatchData>() {
+            @Override
+            public int compare(MatchData m1, MatchData m2) {
+                return Long.compare(getMatchTimestamp(m1), getMatchTimestamp(m2));
+            }
+        });
+        return upcoming;
+    }
+
+    static long getMatchTimestamp(MatchData match) {
+        return parseKickoff(match.matchDate, match.matchTime);
+    }
+
+    // split + Integer.parseInt + Calendar.getInstance() a cada chamada
+    static long parseKickoff(String date, String time) {
+        try {
+            String[] dateParts = date.split("-");
+            String[] timeParts = time.split(":");
+
+            int year = Integer.parseInt(dateParts[0]);
+            int month = Integer.parseInt(dateParts[1]) - 1;
+            int day = Integer.parseInt(dateParts[2]);
+            int hour = Integer.parseInt(timeParts[0]);
+            int minute = Integer.parseInt(timeParts[1]);
+
+            Calendar cal = Calendar.getInstance();
+            cal.set(year, month, day, hour, minute, 0);
+            return cal.getTimeInMillis();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    static List<MatchData> getRecentResults(List<MatchData> allMatches) {
+        List<MatchData> results = new ArrayList<>();
+        for (MatchData match : allMatches) {
+            if (match.betStatus != null
+                    && (match.betStatus.equals("won") || match.betStatus.equals("lost"))) {
+                results.add(match);
+            }
+        }
+        Collections.sort(results, new Comparator<MatchData>() {
+            @Override
+            public int compare(MatchData m1, MatchData m2) {
+                long t1 = (m1.resultAt != null) ? m1.resultAt : m1.timestamp;
+                long t2 = (m2.resultAt != null) ? m2.resultAt : m2.timestamp;
+                return Long.compare(t2, t1);
+            }
+        });
+        return results;
+    }
+}
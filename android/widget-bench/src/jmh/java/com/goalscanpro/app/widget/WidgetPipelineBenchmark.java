@@ -0,0 +1,124 @@
+package com.goalscanpro.app.widget;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Etapas da atualização dos widgets, atual contra LegacyWidgetData (rodar com -prof gc)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WidgetPipelineBenchmark {
+
+    @Param({"100", "1000", "5000", "10000", "50000"})
+    public int size;
+
+    // Volume de dados aninhados por análise (ver SavedAnalysisGenerator.Detail)
+    @Param({"TYPICAL"})
+    public String detail;
+
+    private String json;
+    private List<MatchData> matches;
+    private MatchTable table;
+    private List<MatchData> legacyMatches;
+    private BankData bank;
+    private File snapshotFile;
+    private WidgetSnapshotFile.Settled settled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = SavedAnalysisGenerator.json(SavedAnalysisGenerator.Options.of(size,
+            SavedAnalysisGenerator.DEFAULT_SEED, SavedAnalysisGenerator.Detail.valueOf(detail)));
+        matches = new ArrayList<>();
+        SavedMatchesParser.parse(json, matches);
+        table = MatchTable.of(matches);
+        legacyMatches = LegacyWidgetData.parseSavedMatches(json);
+
+        bank = new BankData();
+        bank.totalBank = 1000;
+        bank.currency = "BRL";
+
+        snapshotFile = File.createTempFile("widget_snapshot", ".bin");
+        WidgetSnapshotFile.write(snapshotFile, 1, matches, WidgetStatsAggregate.rebuild(matches));
+        settled = WidgetSnapshotFile.readSettled(snapshotFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        snapshotFile.delete();
+    }
+
+    @Benchmark
+    public List<MatchData> parseSavedMatches() {
+        List<MatchData> out = new ArrayList<>();
+        SavedMatchesParser.parse(json, out);
+        return out;
+    }
+
+    @Benchmark
+    public List<MatchData> parseSavedMatchesLegacy() {
+        return LegacyWidgetData.parseSavedMatches(json);
+    }
+
+    @Benchmark
+    public List<MatchData> upcomingMatches() {
+        return KickoffIndex.build(table).next(table, SavedAnalysisGenerator.NOW, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<MatchData> upcomingMatchesLegacy() {
+        return LegacyWidgetData.getUpcomingMatches(legacyMatches, SavedAnalysisGenerator.NOW);
+    }
+
+    // Primeiras posições da ordem gravada na fotografia
+    @Benchmark
+    public List<MatchData> recentResults() {
+        return settled.page(0, WidgetSnapshot.RECENT_RESULTS_LIMIT);
+    }
+
+    @Benchmark
+    public List<MatchData> recentResultsLegacy() {
+        return LegacyWidgetData.getRecentResults(legacyMatches);
+    }
+
+    @Benchmark
+    public StatsData calculateStats() {
+        return WidgetStatsAggregate.rebuild(table).toStats(bank);
+    }
+
+    // Mesma reconstrução sobre um objeto por partida, como antes das colunas
+    @Benchmark
+    public StatsData calculateStatsObjects() {
+        return WidgetStatsAggregate.rebuild(matches).toStats(bank);
+    }
+
+    @Benchmark
+    public WidgetSnapshotFile.Contents readSnapshot() throws IOException {
+        return WidgetSnapshotFile.read(snapshotFile);
+    }
+
+    // Abrir a fotografia e montar só a próxima partida (widget pequeno de próximas partidas)
+    @Benchmark
+    public List<MatchData> readSnapshotNextMatch() throws IOException {
+        WidgetSnapshotFile.Contents contents = WidgetSnapshotFile.read(snapshotFile);
+        return contents.kickoffs.next(contents.matches, SavedAnalysisGenerator.NOW, 1);
+    }
+
+    // Leitura seguida da conversão para um objeto por partida (o que a fotografia fazia antes)
+    @Benchmark
+    public List<MatchData> readSnapshotObjects() throws IOException {
+        return WidgetSnapshotFile.read(snapshotFile).matches.toList();
+    }
+}
@@ -6,7 +6,11 @@ import {
   deleteAnalysis,
 } from '../services/supabaseService';
 import { errorService } from '../services/errorService';
-import { syncMatchesToWidgets } from '../services/widgetSyncService';
+import {
+  deleteMatchesFromWidgets,
+  syncMatchesToWidgets,
+  upsertMatchesToWidgets,
+} from '../services/widgetSyncService';
 import { logger } from '../utils/logger';
 
 function mergeSavedMatches(remoteMatches: SavedAnalysis[], localMatches: SavedAnalysis[]): SavedAnalysis[] {
@@ -156,8 +160,8 @@ export const useSavedMatches = (onError?: (message: string) => void) => {
             ? prev.map((m) => (m.id === match.id ? savedMatch : m))
             : [savedMatch, ...prev];
 
-        // Sincronizar com widgets
-        syncMatchesToWidgets(updated);
+        // Sincronizar com widgets (apenas a partida alterada)
+        upsertMatchesToWidgets([savedMatch]);
 
         // Salvar no localStorage
         try {
@@ -211,7 +215,7 @@ export const useSavedMatches = (onError?: (message: string) => void) => {
 
         setSavedMatches((prev) => {
           const updated = prev.filter((m) => m.id !== id);
-          syncMatchesToWidgets(updated);
+          deleteMatchesFromWidgets([id]);
 
           try {
             localStorage.setItem('goalscan_saved', JSON.stringify(updated));
@@ -279,8 +283,8 @@ export const useSavedMatches = (onError?: (message: string) => void) => {
             ? prev.map((m) => (m.id === match.id ? savedMatch : m))
             : [savedMatch, ...prev];
 
-        // Sincronizar com widgets
-        syncMatchesToWidgets(updated);
+        // Sincronizar com widgets (apenas a partida alterada)
+        upsertMatchesToWidgets([savedMatch]);
 
         // Salvar no localStorage
         try {
@@ -1,11 +1,61 @@
 import { logger } from '../utils/logger';
 import type { SavedAnalysis, BankSettings } from '../types';
 
+// Resposta imediata do plugin: a gravação acontece em segundo plano
+export interface WidgetSyncTicket {
+  success: boolean;
+  ticket: number;
+}
+
+export interface WidgetSyncAwaitResult {
+  success: boolean;
+  ticket: number;
+  revision: number;
+  error?: string;
+  // Resultado antigo demais para saber se a gravação falhou (success vem false)
+  unknown?: boolean;
+}
+
+export interface WidgetRefreshStats {
+  windowMs: number;
+  maxLatencyMs: number;
+  requested: number;
+  merged: number;
+  dispatched: number;
+  pushesSent: number;
+  pushesSkipped: number;
+}
+
+// Latências em milissegundos (percentis aproximados por histograma)
+export interface WidgetTimerSummary {
+  count: number;
+  meanMs: number;
+  p50Ms: number;
+  p90Ms: number;
+  p99Ms: number;
+  maxMs: number;
+}
+
+// Chaves: sync, parse, load, stats, upcoming, render.bank, render.upcoming, render.results, render.stats
+export interface WidgetMetrics {
+  since: number;
+  timers: Record<string, WidgetTimerSummary>;
+  counters: Record<string, number>;
+}
+
 export interface WidgetSyncPlugin {
-  syncData(options: {
-    savedMatches?: string;
-    bankSettings?: string;
-  }): Promise<{ success: boolean }>;
+  syncData(options: { savedMatches?: string; bankSettings?: string }): Promise<WidgetSyncTicket>;
+  upsertMatches(options: { matches: string; revision: number }): Promise<WidgetSyncTicket>;
+  deleteMatches(options: { ids: string[]; revision: number }): Promise<WidgetSyncTicket>;
+  replaceAll(options: { matches: string; revision: number }): Promise<WidgetSyncTicket>;
+  awaitSync(options: { ticket: number }): Promise<WidgetSyncAwaitResult>;
+  configureRefresh(options: {
+    windowMs?: number;
+    maxLatencyMs?: number;
+  }): Promise<WidgetRefreshStats>;
+  getRefreshStats(): Promise<WidgetRefreshStats>;
+  getWidgetMetrics(options?: { reset?: boolean; log?: boolean }): Promise<WidgetMetrics>;
+  setWidgetTracing(options: { enabled: boolean }): Promise<{ enabled: boolean }>;
 }
 
 // Verificar se estamos em ambiente web (build Vercel) ou nativo
@@ -41,6 +91,60 @@ async function initCapacitor() {
 // Inicializar na primeira chamada
 let initPromise: Promise<void> | null = null;
 
+// Revisão monotônica das alterações enviadas ao store nativo dos widgets
+let lastRevision = 0;
+
+const nextRevision = (): number => {
+  lastRevision = Math.max(Date.now(), lastRevision + 1);
+  return lastRevision;
+};
+
+// O nativo pode estar à frente (ex.: relógio ajustado); acompanhar a revisão aplicada
+const trackRevision = (result: WidgetSyncAwaitResult) => {
+  if (result.revision > lastRevision) {
+    lastRevision = result.revision;
+  }
+};
+
+/**
+ * Projeta apenas os campos exibidos nos widgets, para que cada alteração
+ * atravesse a bridge com algumas centenas de bytes
+ */
+const toWidgetRecord = (analysis: SavedAnalysis) => ({
+  id: analysis.id,
+  timestamp: analysis.timestamp,
+  data: {
+    homeTeam: analysis.data.homeTeam,
+    awayTeam: analysis.data.awayTeam,
+    matchDate: analysis.data.matchDate,
+    matchTime: analysis.data.matchTime,
+    oddOver15: analysis.data.oddOver15,
+  },
+  result: {
+    probabilityOver15: analysis.result.probabilityOver15,
+    ev: analysis.result.ev,
+  },
+  betInfo: analysis.betInfo && {
+    status: analysis.betInfo.status,
+    betAmount: analysis.betInfo.betAmount,
+    potentialReturn: analysis.betInfo.potentialReturn,
+    resultAt: analysis.betInfo.resultAt,
+  },
+});
+
+// Plugin disponível apenas no Android nativo
+const getAndroidPlugin = async (): Promise<WidgetSyncPlugin | null> => {
+  if (!initPromise) {
+    initPromise = initCapacitor();
+  }
+  await initPromise;
+
+  if (!Capacitor || Capacitor.getPlatform() !== 'android') {
+    return null;
+  }
+  return WidgetSync;
+};
+
 /**
  * Sincroniza dados com os widgets Android
  * Deve ser chamado sempre que os dados forem salvos/atualizados
@@ -81,15 +185,137 @@ export const syncDataToWidgets = async (savedMatches?: SavedAnalysis[], bankSett
 };
 
 /**
- * Sincroniza apenas partidas salvas
+ * Sincroniza apenas partidas salvas (substitui todo o conteúdo dos widgets)
  */
 export const syncMatchesToWidgets = async (savedMatches: SavedAnalysis[]) => {
-  await syncDataToWidgets(savedMatches, undefined);
+  const plugin = await getAndroidPlugin();
+  if (!plugin) {
+    return;
+  }
+
+  try {
+    const { ticket } = await plugin.replaceAll({
+      matches: JSON.stringify(savedMatches.map(toWidgetRecord)),
+      revision: nextRevision(),
+    });
+    // Carga completa: aguardar a gravação para alinhar a revisão com o nativo
+    trackRevision(await plugin.awaitSync({ ticket }));
+  } catch (error) {
+    logger.error('Erro ao sincronizar partidas com widgets:', error);
+  }
+};
+
+/**
+ * Envia aos widgets apenas as partidas criadas/alteradas.
+ * Retorna o ticket da gravação (ver awaitWidgetSync)
+ */
+export const upsertMatchesToWidgets = async (
+  matches: SavedAnalysis[]
+): Promise<number | undefined> => {
+  const plugin = await getAndroidPlugin();
+  if (!plugin || matches.length === 0) {
+    return undefined;
+  }
+
+  try {
+    const { ticket } = await plugin.upsertMatches({
+      matches: JSON.stringify(matches.map(toWidgetRecord)),
+      revision: nextRevision(),
+    });
+    return ticket;
+  } catch (error) {
+    logger.error('Erro ao atualizar partidas nos widgets:', error);
+    return undefined;
+  }
 };
 
 /**
- * Sincroniza apenas configurações de banca
+ * Remove partidas dos widgets pelo id.
+ * Retorna o ticket da gravação (ver awaitWidgetSync)
+ */
+export const deleteMatchesFromWidgets = async (ids: string[]): Promise<number | undefined> => {
+  const plugin = await getAndroidPlugin();
+  if (!plugin || ids.length === 0) {
+    return undefined;
+  }
+
+  try {
+    const { ticket } = await plugin.deleteMatches({ ids, revision: nextRevision() });
+    return ticket;
+  } catch (error) {
+    logger.error('Erro ao remover partidas dos widgets:', error);
+    return undefined;
+  }
+};
+
+/**
+ * Sincroniza apenas configurações de banca (o saldo também entra no histórico da banca)
  */
 export const syncBankToWidgets = async (bankSettings: BankSettings) => {
   await syncDataToWidgets(undefined, bankSettings);
 };
+
+/**
+ * Aguarda até que a gravação do ticket (e das anteriores) esteja persistida no Android.
+ * Retorna false se a gravação falhou, se o resultado não é mais conhecido ou se o plugin
+ * não está disponível
+ */
+export const awaitWidgetSync = async (ticket: number): Promise<boolean> => {
+  const plugin = await getAndroidPlugin();
+  if (!plugin) {
+    return false;
+  }
+
+  try {
+    const result = await plugin.awaitSync({ ticket });
+    trackRevision(result);
+    if (result.unknown) {
+      logger.warn('Resultado da gravação dos widgets desconhecido:', result.error);
+    } else if (!result.success) {
+      logger.warn('Gravação dos widgets falhou:', result.error);
+    }
+    return result.success;
+  } catch (error) {
+    logger.error('Erro ao aguardar sincronização dos widgets:', error);
+    return false;
+  }
+};
+
+/**
+ * Métricas de atualização dos widgets desde o último reset (null fora do Android).
+ * Com log: true o resumo também vai para o logcat (tag WidgetMetrics)
+ */
+export const getWidgetMetrics = async (
+  options: { reset?: boolean; log?: boolean } = {}
+): Promise<WidgetMetrics | null> => {
+  const plugin = await getAndroidPlugin();
+  if (!plugin) {
+    return null;
+  }
+
+  try {
+    return await plugin.getWidgetMetrics(options);
+  } catch (error) {
+    logger.error('Erro ao obter métricas dos widgets:', error);
+    return null;
+  }
+};
+
+/**
+ * Liga/desliga as seções de trace (Perfetto/systrace) do caminho sincronização → widgets.
+ * A escolha persiste entre execuções; retorna o estado efetivo (false fora do Android)
+ */
+export const setWidgetTracing = async (enabled: boolean): Promise<boolean> => {
+  const plugin = await getAndroidPlugin();
+  if (!plugin) {
+    return false;
+  }
+
+  try {
+    const result = await plugin.setWidgetTracing({ enabled });
+    return result.enabled;
+  } catch (error) {
+    logger.error('Erro ao configurar o trace dos widgets:', error);
+    return false;
+  }
+};
@@ -1,10 +1,67 @@
 // Implementação web (mock) do plugin WidgetSync
 export class WidgetSyncWeb {
+  private lastTicket = 0;
+
   async syncData(_options: {
     savedMatches?: string;
     bankSettings?: string;
-  }): Promise<{ success: boolean }> {
+  }): Promise<{ success: boolean; ticket: number }> {
     // No web, não há widgets Android, então apenas retornar sucesso
-    return { success: true };
+    return { success: true, ticket: ++this.lastTicket };
+  }
+
+  async upsertMatches(_options: {
+    matches: string;
+    revision: number;
+  }): Promise<{ success: boolean; ticket: number }> {
+    return { success: true, ticket: ++this.lastTicket };
+  }
+
+  async deleteMatches(_options: {
+    ids: string[];
+    revision: number;
+  }): Promise<{ success: boolean; ticket: number }> {
+    return { success: true, ticket: ++this.lastTicket };
+  }
+
+  async replaceAll(_options: {
+    matches: string;
+    revision: number;
+  }): Promise<{ success: boolean; ticket: number }> {
+    return { success: true, ticket: ++this.lastTicket };
+  }
+
+  async awaitSync(options: {
+    ticket: number;
+  }): Promise<{ success: boolean; ticket: number; revision: number }> {
+    return { success: true, ticket: options.ticket, revision: 0 };
+  }
+
+  async configureRefresh(options: { windowMs?: number; maxLatencyMs?: number }) {
+    return this.refreshStats(options.windowMs, options.maxLatencyMs);
+  }
+
+  async getRefreshStats() {
+    return this.refreshStats();
+  }
+
+  async getWidgetMetrics(_options?: { reset?: boolean; log?: boolean }) {
+    return { since: Date.now(), timers: {}, counters: {} };
+  }
+
+  async setWidgetTracing(_options: { enabled: boolean }) {
+    return { enabled: false };
+  }
+
+  private refreshStats(windowMs = 250, maxLatencyMs = 1000) {
+    return {
+      windowMs,
+      maxLatencyMs,
+      requested: 0,
+      merged: 0,
+      dispatched: 0,
+      pushesSent: 0,
+      pushesSkipped: 0,
+    };
   }
 }
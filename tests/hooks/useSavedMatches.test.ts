@@ -12,6 +12,8 @@ vi.mock('../../services/supabaseService', () => ({
 
 vi.mock('../../services/widgetSyncService', () => ({
   syncMatchesToWidgets: vi.fn(),
+  upsertMatchesToWidgets: vi.fn(),
+  deleteMatchesFromWidgets: vi.fn(),
 }));
 
 describe('useSavedMatches', () => {